@@ -0,0 +1,83 @@
+package be.yt.ecommerce.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that follows latency: additive increase, multiplicative decrease.
+ * <p>
+ * Each completed request is compared with a baseline, a slow moving average of earlier latencies. A
+ * request slower than {@code latencyTolerance} times the baseline, or one that failed, means requests
+ * are queueing somewhere, usually for the database, and the limit is multiplied by {@code backoffRatio}.
+ * A faster one raises the limit by one, but only while at least half of it is in use, so a quiet service
+ * does not grow a limit it never tried. Samples are capped at the tolerance before they move the baseline:
+ * a lasting slowdown raises it gradually and the limit settles at what the slower database can take.
+ */
+public class AdaptiveConcurrencyLimiter implements ConcurrencyLimiter {
+    private static final double BASELINE_SMOOTHING = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Limit and baseline are updated together; nothing blocks while holding it
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double baselineNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Checkout properties) {
+        if (properties.minLimit() < 1 || properties.maxLimit() < properties.minLimit()) {
+            throw new IllegalArgumentException("Concurrency limit needs 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.latencyTolerance = properties.latencyTolerance();
+        this.backoffRatio = properties.backoffRatio();
+        this.limit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void release(long latencyNanos, boolean failed) {
+        int before = inFlight.getAndDecrement();
+        sampleLock.lock();
+        try {
+            if (baselineNanos == 0 && !failed) {
+                baselineNanos = latencyNanos;
+            }
+            if (failed || latencyNanos > baselineNanos * latencyTolerance) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (before * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            if (!failed) {
+                baselineNanos += BASELINE_SMOOTHING * (Math.min(latencyNanos, baselineNanos * latencyTolerance) - baselineNanos);
+            }
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    @Override
+    public int limit() {
+        return (int) limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,10 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ecommerce.checkout.batch")
+public record BatchCheckoutProperties(
+        @DefaultValue("1000") int maxPurchases,
+        @DefaultValue("50") int chunkSize) {
+}
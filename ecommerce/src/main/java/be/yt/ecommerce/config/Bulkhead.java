@@ -0,0 +1,39 @@
+package be.yt.ecommerce.config;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fixed number of permits, so one group of endpoints cannot take every thread and connection.
+ */
+public class Bulkhead implements ConcurrencyLimiter {
+    private final int limit;
+    private final Semaphore permits;
+
+    public Bulkhead(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Bulkhead needs at least one permit");
+        }
+        this.limit = limit;
+        this.permits = new Semaphore(limit);
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    @Override
+    public void release(long latencyNanos, boolean failed) {
+        permits.release();
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+}
@@ -0,0 +1,33 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.service.CatalogCacheInvalidator;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX operation {@code evict(products|categories|reference-data|all)} drops the matching second-level
+ * cache entries, for catalog or reference data changed directly in the database. Like
+ * {@link OrderStatusEndpoint}, it is not offered over HTTP: anyone could empty the caches.
+ */
+@Component
+@JmxEndpoint(id = "catalogcache")
+public class CatalogCacheEndpoint {
+    private final CatalogCacheInvalidator cacheInvalidator;
+
+    public CatalogCacheEndpoint(CatalogCacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @DeleteOperation
+    public void evict(@Selector String data) {
+        switch (data) {
+            case "products" -> cacheInvalidator.productsChanged();
+            case "categories" -> cacheInvalidator.categoriesChanged();
+            case "reference-data" -> cacheInvalidator.referenceDataChanged();
+            case "all" -> cacheInvalidator.evictAll();
+            default -> throw new IllegalArgumentException("Unknown catalog data " + data);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "ecommerce.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                  RepositoryRestConfiguration restConfiguration,
+                                                  MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitFilter(properties, restConfiguration, meterRegistry);
+    }
+}
@@ -0,0 +1,119 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sheds load before it queues. Checkouts pass an {@link AdaptiveConcurrencyLimiter}, reads of the catalog
+ * and reference data resources a separate {@link Bulkhead}, so a slow database cannot make checkouts take
+ * every thread and connection and stop browsing as well. Batch checkouts get a small bulkhead of their
+ * own: one of them writes up to {@code ecommerce.checkout.batch.max-purchases} orders, so a permit of the
+ * checkout limiter would let a few batches do the work of thousands of checkouts, and their latency
+ * would skew its estimate. Requests over the limit get a 503 with {@code Retry-After} right away.
+ * <p>
+ * Limits, requests in flight and rejections are published as {@code ecommerce.concurrency.limit},
+ * {@code ecommerce.concurrency.in.flight} and {@code ecommerce.concurrency.rejected}, tagged with the
+ * limiter.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements Ordered {
+    private static final Set<String> CATALOG_RESOURCES = Set.of("products", "product-category", "countries", "states");
+    private static final String CHECKOUT_PATH = "/api/checkout/purchase";
+    private static final String BATCH_CHECKOUT_PATH = "/api/checkout/purchases";
+
+    private final Limit checkout;
+    private final Limit catalog;
+    private final Limit batchCheckout;
+    private final RepositoryRestConfiguration restConfiguration;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, RepositoryRestConfiguration restConfiguration,
+                                  MeterRegistry meterRegistry) {
+        this.checkout = new Limit("checkout", new AdaptiveConcurrencyLimiter(properties.checkout()),
+                properties.checkout().retryAfter(), meterRegistry);
+        this.catalog = new Limit("catalog", new Bulkhead(properties.catalog().maxConcurrent()),
+                properties.catalog().retryAfter(), meterRegistry);
+        this.batchCheckout = new Limit("checkout-batch", new Bulkhead(properties.batchCheckout().maxConcurrent()),
+                properties.batchCheckout().retryAfter(), meterRegistry);
+        this.restConfiguration = restConfiguration;
+    }
+
+    @Override
+    public int getOrder() {
+        // After the rate limit, before anything that touches the database
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limit limit = limitFor(request);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limit.limiter().tryAcquire()) {
+            limit.rejected().increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, limit.retryAfter().toSeconds())));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent requests, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.limiter().release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private Limit limitFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            return switch (path) {
+                case CHECKOUT_PATH -> checkout;
+                case BATCH_CHECKOUT_PATH -> batchCheckout;
+                default -> null;
+            };
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return null;
+        }
+
+        String basePath = restConfiguration.getBasePath().getPath();
+        if (basePath != null && !basePath.isEmpty() && !basePath.equals("/")) {
+            if (!path.startsWith(basePath + "/")) {
+                return null;
+            }
+            path = path.substring(basePath.length());
+        }
+        String[] segments = path.split("/");
+        return segments.length >= 2 && CATALOG_RESOURCES.contains(segments[1]) ? catalog : null;
+    }
+
+    private record Limit(ConcurrencyLimiter limiter, Duration retryAfter, Counter rejected) {
+
+        Limit(String name, ConcurrencyLimiter limiter, Duration retryAfter, MeterRegistry meterRegistry) {
+            this(limiter, retryAfter, Counter.builder("ecommerce.concurrency.rejected").tag("limiter", name)
+                    .register(meterRegistry));
+            Gauge.builder("ecommerce.concurrency.limit", limiter, ConcurrencyLimiter::limit).tag("limiter", name)
+                    .register(meterRegistry);
+            Gauge.builder("ecommerce.concurrency.in.flight", limiter, ConcurrencyLimiter::inFlight).tag("limiter", name)
+                    .register(meterRegistry);
+        }
+    }
+}
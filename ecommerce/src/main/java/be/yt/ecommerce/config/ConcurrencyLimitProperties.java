@@ -0,0 +1,33 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Checkout checkout,
+        @DefaultValue Catalog catalog,
+        @DefaultValue BatchCheckout batchCheckout) {
+
+    public record Checkout(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("2.0") double latencyTolerance,
+            @DefaultValue("0.9") double backoffRatio,
+            @DefaultValue("1s") Duration retryAfter) {
+    }
+
+    public record Catalog(
+            @DefaultValue("100") int maxConcurrent,
+            @DefaultValue("1s") Duration retryAfter) {
+    }
+
+    public record BatchCheckout(
+            @DefaultValue("2") int maxConcurrent,
+            @DefaultValue("5s") Duration retryAfter) {
+    }
+}
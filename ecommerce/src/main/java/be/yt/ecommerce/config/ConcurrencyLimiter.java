@@ -0,0 +1,20 @@
+package be.yt.ecommerce.config;
+
+/**
+ * Bounds the number of requests in flight. Every successful {@link #tryAcquire()} must be followed by
+ * one {@link #release}.
+ */
+public interface ConcurrencyLimiter {
+
+    boolean tryAcquire();
+
+    /**
+     * @param latencyNanos how long the request took
+     * @param failed       whether it failed on the server side
+     */
+    void release(long latencyNanos, boolean failed);
+
+    int limit();
+
+    int inFlight();
+}
@@ -0,0 +1,9 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ecommerce.customer")
+public record CustomerProperties(
+        @DefaultValue("100000") int emailCacheSize) {
+}
@@ -0,0 +1,17 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.checkout.group-commit")
+public record GroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2") int writerThreads,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("5ms") Duration maxLinger,
+        @DefaultValue("1024") int queueCapacity,
+        @DefaultValue("100ms") Duration enqueueTimeout,
+        @DefaultValue("30s") Duration responseTimeout) {
+}
@@ -0,0 +1,13 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.checkout.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("2m") Duration claimTimeout) {
+}
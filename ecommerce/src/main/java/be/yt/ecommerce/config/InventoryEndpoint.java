@@ -0,0 +1,27 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.service.InventoryService;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX operation {@code restock(productId, units)} for goods received. Once a product has inventory shards,
+ * writing {@code units_in_stock} has no lasting effect, so received units go through
+ * {@link InventoryService#restock}. The application has no authentication, so this is not offered over HTTP.
+ */
+@Component
+@JmxEndpoint(id = "inventory")
+public class InventoryEndpoint {
+    private final InventoryService inventoryService;
+
+    public InventoryEndpoint(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    @WriteOperation
+    public void restock(@Selector Long productId, int units) {
+        inventoryService.restock(productId, units);
+    }
+}
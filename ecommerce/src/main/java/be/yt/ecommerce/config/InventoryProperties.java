@@ -0,0 +1,10 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ecommerce.inventory")
+public record InventoryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8") int shards) {
+}
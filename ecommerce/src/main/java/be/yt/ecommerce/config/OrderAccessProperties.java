@@ -0,0 +1,12 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.order-access")
+public record OrderAccessProperties(
+        @DefaultValue("") String secret,
+        @DefaultValue("30d") Duration historyTokenTtl) {
+}
@@ -0,0 +1,30 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.service.OrderAccessTokens;
+import be.yt.ecommerce.service.OrderHistoryService;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX operation {@code historyToken(email)} for the tooling that mails customers a link to their order
+ * history. It returns null when no customer has that email. Only whoever receives mail at the address
+ * should see the token, so it is not offered over HTTP.
+ */
+@Component
+@JmxEndpoint(id = "orderhistory")
+public class OrderHistoryEndpoint {
+    private final OrderHistoryService orderHistoryService;
+    private final OrderAccessTokens orderAccessTokens;
+
+    public OrderHistoryEndpoint(OrderHistoryService orderHistoryService, OrderAccessTokens orderAccessTokens) {
+        this.orderHistoryService = orderHistoryService;
+        this.orderAccessTokens = orderAccessTokens;
+    }
+
+    @ReadOperation
+    public String historyToken(@Selector String email) {
+        return orderHistoryService.findCustomerId(email).map(orderAccessTokens::historyToken).orElse(null);
+    }
+}
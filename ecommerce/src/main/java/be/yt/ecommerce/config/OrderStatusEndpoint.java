@@ -0,0 +1,27 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.service.OrderStatusService;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX operation {@code updateStatus(trackingNumber, status)} for fulfilment tooling. It goes through
+ * {@link OrderStatusService#updateStatus}, which evicts the cached status view once the change commits.
+ * The application has no authentication, so this is not offered over HTTP.
+ */
+@Component
+@JmxEndpoint(id = "orderstatus")
+public class OrderStatusEndpoint {
+    private final OrderStatusService orderStatusService;
+
+    public OrderStatusEndpoint(OrderStatusService orderStatusService) {
+        this.orderStatusService = orderStatusService;
+    }
+
+    @WriteOperation
+    public void updateStatus(@Selector String trackingNumber, String status) {
+        orderStatusService.updateStatus(trackingNumber, status);
+    }
+}
@@ -0,0 +1,12 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.order.status-cache")
+public record OrderStatusProperties(
+        @DefaultValue("5s") Duration ttl,
+        @DefaultValue("10000") int maxEntries) {
+}
@@ -0,0 +1,12 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ecommerce.product-import")
+public record ProductImportProperties(
+        String file,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("100000") int progressRows) {
+}
@@ -0,0 +1,75 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.dto.ProductImportReport;
+import be.yt.ecommerce.service.ProductFileFormat;
+import be.yt.ecommerce.service.ProductImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports a product file and exits, for operators who can already start the application against the
+ * database: {@code java -jar ecommerce.jar --spring.main.web-application-type=none
+ * --ecommerce.product-import.file=products.csv.gz}. The format follows the extension ({@code .csv} or
+ * {@code .ndjson}, optionally {@code .gz}). The exit code is 1 when rows were rejected.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ecommerce.product-import", name = "file")
+public class ProductImportRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportRunner.class);
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final ProductImportService productImportService;
+    private final ProductImportProperties properties;
+    private final ConfigurableApplicationContext context;
+    private final IntConsumer exit;
+
+    @Autowired
+    public ProductImportRunner(ProductImportService productImportService, ProductImportProperties properties,
+                               ConfigurableApplicationContext context) {
+        this(productImportService, properties, context, System::exit);
+    }
+
+    ProductImportRunner(ProductImportService productImportService, ProductImportProperties properties,
+                        ConfigurableApplicationContext context, IntConsumer exit) {
+        this.productImportService = productImportService;
+        this.properties = properties;
+        this.context = context;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path file = Path.of(properties.file());
+        String name = file.getFileName().toString();
+        boolean gzipped = name.endsWith(GZIP_EXTENSION);
+        if (gzipped) {
+            name = name.substring(0, name.length() - GZIP_EXTENSION.length());
+        }
+        ProductFileFormat format = ProductFileFormat.of(name.substring(name.lastIndexOf('.') + 1));
+
+        ProductImportReport report;
+        try (InputStream in = gzipped
+                ? new GZIPInputStream(Files.newInputStream(file), 64 * 1024)
+                : Files.newInputStream(file)) {
+            report = productImportService.importProducts(in, format);
+        }
+        report.errors().forEach(error -> log.warn("Rejected {}", error));
+
+        int exitCode = report.rejected() == 0 ? 0 : 1;
+        exit.accept(SpringApplication.exit(context, () -> exitCode));
+    }
+}
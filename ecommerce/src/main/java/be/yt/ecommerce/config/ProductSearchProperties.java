@@ -0,0 +1,13 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.search")
+public record ProductSearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration refreshOverlap,
+        @DefaultValue("5000") int batchSize) {
+}
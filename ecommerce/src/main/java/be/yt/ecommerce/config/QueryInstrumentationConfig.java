@@ -0,0 +1,104 @@
+package be.yt.ecommerce.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Wraps the data source so every statement, every row read from a result set or changed by an update,
+ * and the time spent in JDBC are added to the {@link QueryStats} of the calling thread. In a web
+ * application {@link QueryStatsFilter} opens such a scope around every request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ecommerce.query-instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    @Bean
+    static BeanPostProcessor queryStatsDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new StatementListener())
+                            .proxyResultSet()
+                            .methodListener(new RowListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    QueryStatsFilter queryStatsFilter(MeterRegistry meterRegistry, QueryInstrumentationProperties properties) {
+        return new QueryStatsFilter(meterRegistry, properties);
+    }
+
+    private static class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.statementStarted();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.statementFinished(affectedRows(execInfo.getResult()));
+            }
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return 0;
+        }
+    }
+
+    private static class RowListener implements MethodExecutionListener {
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && Boolean.TRUE.equals(executionContext.getResult())
+                    && executionContext.getMethod().getName().equals("next")) {
+                QueryStats stats = QueryStats.current();
+                if (stats != null) {
+                    stats.rowRead();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "ecommerce.query-instrumentation")
+public record QueryInstrumentationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int statementBudget,
+        @DefaultValue("false") boolean failOnBudgetExceeded) {
+}
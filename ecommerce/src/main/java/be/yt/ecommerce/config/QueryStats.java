@@ -0,0 +1,93 @@
+package be.yt.ecommerce.config;
+
+import java.util.function.Supplier;
+
+/**
+ * SQL statements, rows and JDBC time spent by the current thread between {@link #start()} and
+ * {@link #stop()}. Filled in by the data source proxy from {@link QueryInstrumentationConfig}; outside a
+ * started scope nothing is counted.
+ */
+public final class QueryStats {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+    private long statementStartedAt;
+
+    private QueryStats() {
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Runs {@code action} in a fresh scope and returns what it did, restoring any scope that was open.
+     */
+    public static QueryStats capture(Runnable action) {
+        return capture(() -> {
+            action.run();
+            return null;
+        }).stats();
+    }
+
+    public static <T> Captured<T> capture(Supplier<T> action) {
+        QueryStats outer = CURRENT.get();
+        QueryStats stats = start();
+        try {
+            return new Captured<>(action.get(), stats);
+        } finally {
+            CURRENT.remove();
+            if (outer != null) {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished(long affectedRows) {
+        statements++;
+        rows += affectedRows;
+        jdbcNanos += System.nanoTime() - statementStartedAt;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + jdbcNanos / 1_000_000 + " ms JDBC";
+    }
+
+    public record Captured<T>(T result, QueryStats stats) {
+    }
+}
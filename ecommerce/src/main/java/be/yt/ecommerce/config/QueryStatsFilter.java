@@ -0,0 +1,85 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL work of each request as {@code http.server.requests.sql.statements},
+ * {@code http.server.requests.sql.rows} and {@code http.server.requests.sql.time}, tagged with method
+ * and URI pattern like {@code http.server.requests}. Requests that run more statements than
+ * {@code ecommerce.query-instrumentation.statement-budget} are logged, or fail when
+ * {@code fail-on-budget-exceeded} is set, which is meant for tests.
+ * <p>
+ * To fail a request before anything reached the client, {@code fail-on-budget-exceeded} buffers every
+ * response body in memory and only writes it out once the statement count is known. Responses that
+ * send an error from inside the chain are committed early and cannot be failed anymore.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter implements Ordered {
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final QueryInstrumentationProperties properties;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, QueryInstrumentationProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost, so SQL run by other filters counts as well
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = properties.failOnBudgetExceeded()
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        QueryStats.start();
+        QueryStats stats;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            stats = QueryStats.stop();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("http.server.requests.sql.statements").tags(tags).register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder("http.server.requests.sql.rows").tags(tags).register(meterRegistry)
+                .record(stats.rows());
+        Timer.builder("http.server.requests.sql.time").tags(tags).register(meterRegistry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > properties.statementBudget()) {
+            String message = "%s %s ran %d SQL statements, budget is %d (%s)".formatted(request.getMethod(),
+                    request.getRequestURI(), stats.statements(), properties.statementBudget(), stats);
+            if (buffered != null) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+        if (buffered != null) {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
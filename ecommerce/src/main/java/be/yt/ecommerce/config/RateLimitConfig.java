@@ -0,0 +1,20 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "ecommerce.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    RateLimitFilter rateLimitFilter(RateLimitProperties properties, RepositoryRestConfiguration restConfiguration,
+                                    MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, restConfiguration, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits each client, by remote address, on the paths in {@code ecommerce.rate-limit.paths}.
+ * Patterns match the path within the application or, for repository resources, the path below the
+ * Spring Data REST base path. Behind a proxy, {@code server.forward-headers-strategy} has to be set for
+ * the remote address to be the client's. A client out of tokens gets a 429 with {@code Retry-After}.
+ * <p>
+ * Rejections and the number of clients tracked are published as {@code ecommerce.rate-limit.rejected}
+ * and {@code ecommerce.rate-limit.clients}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+    private final RateLimiter rateLimiter;
+    private final List<PathPattern> patterns;
+    private final RepositoryRestConfiguration restConfiguration;
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimitProperties properties, RepositoryRestConfiguration restConfiguration,
+                           MeterRegistry meterRegistry) {
+        this.rateLimiter = new RateLimiter(properties);
+        this.patterns = properties.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.restConfiguration = restConfiguration;
+        this.rejected = Counter.builder("ecommerce.rate-limit.rejected").register(meterRegistry);
+        Gauge.builder("ecommerce.rate-limit.clients", rateLimiter, RateLimiter::clients).register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the concurrency limits, so throttled clients do not take their permits
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (matches(path)) {
+            return false;
+        }
+        String basePath = restConfiguration.getBasePath().getPath();
+        return basePath == null || basePath.isEmpty() || basePath.equals("/") || !path.startsWith(basePath + "/")
+                || !matches(path.substring(basePath.length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            rejected.increment();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
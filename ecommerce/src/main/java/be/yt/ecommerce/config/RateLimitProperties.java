@@ -0,0 +1,17 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "ecommerce.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("/products/search/findByNameContaining") List<String> paths,
+        @DefaultValue("20") int capacity,
+        @DefaultValue("5") double refillPerSecond,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("10m") Duration clientIdleTimeout) {
+}
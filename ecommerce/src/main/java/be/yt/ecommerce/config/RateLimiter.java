@@ -0,0 +1,38 @@
+package be.yt.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * One {@link TokenBucket} per client. Buckets of clients idle for {@code client-idle-timeout} are dropped,
+ * by then they would be full again anyway, and at most {@code max-clients} are kept so a flood of client
+ * addresses cannot exhaust memory.
+ */
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.clientIdleTimeout())
+                .build();
+    }
+
+    /**
+     * @return 0 when the client may go ahead, otherwise how many nanoseconds until it may
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.getIfPresent(client);
+        if (bucket == null) {
+            bucket = buckets.get(client, key -> new TokenBucket(properties.capacity(), properties.refillPerSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public long clients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,42 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+
+/**
+ * Connections of read-only transactions come from the replicas, all others from the primary. The
+ * choice is made when the first statement runs, after the transaction manager has marked the
+ * connection read-only.
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReplicaPool replicas;
+
+    private ReadWriteDataSource(DataSource primary, ReplicaPool replicas) {
+        super(primary);
+        this.replicas = replicas;
+    }
+
+    public static ReadWriteDataSource of(DataSource primary, ReplicaPool replicas) {
+        ReadWriteDataSource dataSource = new ReadWriteDataSource(primary, replicas);
+        dataSource.setReadOnlyDataSource(replicas);
+        return dataSource;
+    }
+
+    public ReplicaPool replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        if (getTargetDataSource() instanceof Closeable primary) {
+            try {
+                primary.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close the primary data source", e);
+            }
+        }
+    }
+}
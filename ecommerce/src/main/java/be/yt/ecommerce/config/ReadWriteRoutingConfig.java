@@ -0,0 +1,64 @@
+package be.yt.ecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the data source with a {@link ReadWriteDataSource} over the {@code spring.datasource} primary
+ * and the {@code ecommerce.replicas.nodes}. Every pool takes the {@code spring.datasource.hikari}
+ * settings. Replica pools are read-only.
+ * <p>
+ * Reads of the catalog and reference data repositories run in read-only transactions and so go to a
+ * replica; checkout and every other read-write transaction stays on the primary. Replicas lag behind,
+ * which the order status lookup covers with its read-your-writes window.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ecommerce.replicas", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    ReadWriteDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                   ReplicaProperties replicaProperties,
+                                   Environment environment,
+                                   TaskScheduler taskScheduler) {
+        if (replicaProperties.nodes().isEmpty()) {
+            throw new IllegalStateException("ecommerce.replicas.enabled is set but no ecommerce.replicas.nodes are configured");
+        }
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : replicaProperties.nodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(node.url());
+            replica.setUsername(node.username());
+            replica.setPassword(node.password());
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + replicas.size());
+            // Do not fail startup over a replica that is down; it is skipped until it answers
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        ReplicaPool replicaPool = new ReplicaPool(replicas, primary);
+        taskScheduler.scheduleWithFixedDelay(replicaPool::checkHealth, replicaProperties.healthCheckInterval());
+        return ReadWriteDataSource.of(primary, replicaPool);
+    }
+}
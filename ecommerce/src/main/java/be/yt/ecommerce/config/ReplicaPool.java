@@ -0,0 +1,142 @@
+package be.yt.ecommerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.net.SocketException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to read replicas in turn, skipping replicas that failed their last health
+ * check or could not be connected to. With no replica available, connections come from the fallback, the
+ * primary, so reads slow down instead of failing.
+ * <p>
+ * Only connection-level failures take a replica out of rotation: SQLState class 08, anywhere in the cause
+ * chain, a socket that could not connect, or a failed validation. A replica whose own pool is exhausted
+ * times out without such a cause; that call moves on to the next replica or the fallback, and the replica
+ * stays in rotation.
+ */
+public class ReplicaPool extends AbstractDataSource implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final DataSource fallback;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<DataSource> replicas, DataSource fallback) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    replica.markDown(e);
+                } else {
+                    log.debug("No connection from replica {}, trying the next one", replica.dataSource, e);
+                }
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    /**
+     * Not supported: replicas are connection pools opened with their own credentials, and a pool cannot
+     * hand out connections for other ones. Passing the call on would fail on every replica and take them
+     * all out of rotation.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the credentials they were configured with");
+    }
+
+    /**
+     * Validates a connection of every replica, taking failed replicas back once they answer again.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    replica.markDown(e);
+                } else {
+                    log.debug("Could not check replica {}", replica.dataSource, e);
+                }
+            }
+        }
+    }
+
+    static boolean isConnectionFailure(SQLException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith("08")) {
+                return true;
+            }
+            if (cause instanceof SocketException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica data source", e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} is back, sending reads to it again", dataSource);
+                healthy = true;
+            }
+        }
+
+        private void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("Replica {} is unavailable, no longer sending reads to it", dataSource, cause);
+                healthy = false;
+            }
+        }
+    }
+}
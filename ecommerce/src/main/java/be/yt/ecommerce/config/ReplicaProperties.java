@@ -0,0 +1,18 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "ecommerce.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("5s") Duration readYourWritesWindow) {
+
+    public record Node(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,85 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.entity.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for reference data, categories and products, kept in local Caffeine
+ * caches through JCache. Every region is created here with its own size and expiry; a region Hibernate
+ * asks for that is not listed fails startup rather than falling back to an unbounded cache.
+ * <p>
+ * Hibernate keeps the caches in step with its own writes, including bulk JPQL updates. Writes that
+ * bypass it, such as the JDBC batches of the product import, go through
+ * {@link be.yt.ecommerce.service.CatalogCacheInvalidator}. Statistics are switched on with the cache so
+ * hits and misses per region show up as {@code hibernate.second.level.cache.requests} and
+ * {@code hibernate.cache.query.requests} in {@code /actuator/metrics}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final long MAX_REFERENCE_ENTRIES = 10_000;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "ecommerce.second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        // A manager of its own, so application contexts sharing a class loader never share regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("ecommerce-second-level-cache-" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+
+        createRegion(cacheManager, CacheRegions.COUNTRY, MAX_REFERENCE_ENTRIES, properties.referenceDataTtl());
+        createRegion(cacheManager, CacheRegions.STATE, MAX_REFERENCE_ENTRIES, properties.referenceDataTtl());
+        createRegion(cacheManager, CacheRegions.PRODUCT_CATEGORY, MAX_REFERENCE_ENTRIES, properties.referenceDataTtl());
+        createRegion(cacheManager, CacheRegions.PRODUCT, properties.maxProducts(), properties.productTtl());
+        createRegion(cacheManager, CacheRegions.REFERENCE_QUERIES, properties.maxQueryResults(), properties.referenceDataTtl());
+        createRegion(cacheManager, CacheRegions.CATALOG_QUERIES, properties.maxQueryResults(), properties.referenceDataTtl());
+        createRegion(cacheManager, QUERY_RESULTS_REGION, properties.maxQueryResults(), properties.productTtl());
+        // One entry per table; evicting one would make queries over that table look stale forever
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, null);
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<CacheManager> secondLevelCacheManager) {
+        return hibernateProperties -> {
+            CacheManager cacheManager = secondLevelCacheManager.getIfAvailable();
+            // Without this Hibernate would pick up hibernate-jcache on its own and create unbounded caches
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, cacheManager != null);
+            if (cacheManager != null) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+                hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
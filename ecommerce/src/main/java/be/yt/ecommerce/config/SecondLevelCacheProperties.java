@@ -0,0 +1,15 @@
+package be.yt.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "ecommerce.second-level-cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1h") Duration referenceDataTtl,
+        @DefaultValue("10m") Duration productTtl,
+        @DefaultValue("100000") long maxProducts,
+        @DefaultValue("10000") long maxQueryResults) {
+}
@@ -0,0 +1,45 @@
+package be.yt.ecommerce.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket of {@code capacity} tokens refilled at a constant rate, kept as a single atomic long.
+ * <p>
+ * Instead of a token count and a refill time, the bucket stores the time at which it will be full again
+ * (the generic cell rate algorithm). Taking a token moves that time one refill interval further; the
+ * bucket is empty when it lies more than {@code capacity} intervals ahead. A request is one compare and
+ * set, retried only when another thread took a token of the same client in between.
+ */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket needs a capacity and refill rate above zero");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000 / refillPerSecond));
+        this.capacityNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token.
+     *
+     * @return 0 when a token was taken, otherwise how many nanoseconds until the next one
+     */
+    public long tryAcquire(long nowNanos) {
+        long current;
+        long next;
+        do {
+            current = fullAt.get();
+            next = (current - nowNanos > 0 ? current : nowNanos) + intervalNanos;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+        } while (!fullAt.compareAndSet(current, next));
+        return 0;
+    }
+}
@@ -0,0 +1,48 @@
+package be.yt.ecommerce.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+/**
+ * Warns at startup when requests run on virtual threads but the JDBC driver still guards its I/O with
+ * {@code synchronized}. On Java 21 a virtual thread that blocks inside a monitor pins its carrier thread,
+ * so a slow database would again exhaust a small pool of platform threads. MySQL Connector/J switched to
+ * {@code java.util.concurrent} locks in 9.0.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsCheck {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsCheck.class);
+    private static final int FIRST_UNPINNED_MYSQL_DRIVER = 9;
+
+    private final DataSource dataSource;
+
+    public VirtualThreadsCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkDriver() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getDriverName().contains("MySQL")
+                    && metaData.getDriverMajorVersion() < FIRST_UNPINNED_MYSQL_DRIVER) {
+                log.warn("{} {} pins virtual threads during database calls; upgrade to {}.x or disable "
+                                + "spring.threads.virtual.enabled", metaData.getDriverName(),
+                        metaData.getDriverVersion(), FIRST_UNPINNED_MYSQL_DRIVER);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not check the JDBC driver for virtual thread pinning", e);
+        }
+    }
+}
@@ -1,22 +1,64 @@
 package be.yt.ecommerce.controller;
 
+import be.yt.ecommerce.dto.BatchPurchaseResult;
 import be.yt.ecommerce.dto.Purchase;
 import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.service.BatchCheckoutService;
 import be.yt.ecommerce.service.CheckoutService;
+import be.yt.ecommerce.service.IdempotentCheckoutService;
+import be.yt.ecommerce.service.OrderAccessTokens;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:4200")
 @RestController
 @RequestMapping("/api/checkout")
 public class CheckoutController {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final CheckoutService checkoutService;
+    private final IdempotentCheckoutService idempotentCheckoutService;
+    private final BatchCheckoutService batchCheckoutService;
+    private final OrderAccessTokens orderAccessTokens;
 
-    public CheckoutController(CheckoutService checkoutService) {
+    public CheckoutController(CheckoutService checkoutService,
+                              IdempotentCheckoutService idempotentCheckoutService,
+                              BatchCheckoutService batchCheckoutService,
+                              OrderAccessTokens orderAccessTokens) {
         this.checkoutService = checkoutService;
+        this.idempotentCheckoutService = idempotentCheckoutService;
+        this.batchCheckoutService = batchCheckoutService;
+        this.orderAccessTokens = orderAccessTokens;
     }
 
     @PostMapping("/purchase")
-    public PurchaseResponse placeOrder(@RequestBody Purchase purchase) {
-        return checkoutService.placeOrder(purchase);
+    public PurchaseResponse placeOrder(@RequestBody Purchase purchase,
+                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return withStatusToken(checkoutService.placeOrder(purchase));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key header");
+        }
+        return withStatusToken(idempotentCheckoutService.placeOrder(idempotencyKey, purchase));
+    }
+
+    /**
+     * Places every purchase of the list and answers with one result per purchase, in the same order.
+     */
+    @PostMapping("/purchases")
+    public List<BatchPurchaseResult> placeOrders(@RequestBody List<Purchase> purchases) {
+        return batchCheckoutService.placeOrders(purchases).stream()
+                .map(result -> result.orderTrackingNumber() == null ? result : new BatchPurchaseResult(result.status(),
+                        result.orderTrackingNumber(), orderAccessTokens.statusToken(result.orderTrackingNumber()), null))
+                .toList();
+    }
+
+    private PurchaseResponse withStatusToken(PurchaseResponse response) {
+        return new PurchaseResponse(response.orderTrackingNumber(),
+                orderAccessTokens.statusToken(response.orderTrackingNumber()));
     }
 }
@@ -0,0 +1,132 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.CountryRepository;
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dao.StateRepository;
+import be.yt.ecommerce.dto.ResourceVersion;
+import be.yt.ecommerce.service.CatalogService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers conditional GETs on the catalog and reference data before anything is loaded or rendered.
+ * <p>
+ * The validator of a response is the row count and latest {@code last_updated} of the rows it is built
+ * from, read with one aggregate query or, for listings served from the catalog snapshot, taken from the
+ * snapshot. Matching {@code If-None-Match} or {@code If-Modified-Since} headers get a 304; otherwise the
+ * ETag and Last-Modified headers are set and the request goes on. {@code Cache-Control: no-cache} makes
+ * browsers revalidate instead of guessing a freshness lifetime from Last-Modified.
+ * <p>
+ * This only holds while every write to a served column moves {@code last_updated}, bulk updates included;
+ * the stock sync in {@link be.yt.ecommerce.service.InventoryService} does.
+ * <p>
+ * Name searches are left alone: their results come from the search index, which is refreshed on its own
+ * schedule.
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+    private final CatalogService catalogService;
+    private final ProductRepository productRepository;
+    private final ProductCategoryRepository categoryRepository;
+    private final CountryRepository countryRepository;
+    private final StateRepository stateRepository;
+    private final RepositoryRestConfiguration restConfiguration;
+
+    public ConditionalGetFilter(CatalogService catalogService,
+                                ProductRepository productRepository,
+                                ProductCategoryRepository categoryRepository,
+                                CountryRepository countryRepository,
+                                StateRepository stateRepository,
+                                RepositoryRestConfiguration restConfiguration) {
+        this.catalogService = catalogService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.countryRepository = countryRepository;
+        this.stateRepository = stateRepository;
+        this.restConfiguration = restConfiguration;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ResourceVersion version = version(request);
+        if (version != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            if (new ServletWebRequest(request, response).checkNotModified(version.etag(), version.lastModifiedMillis())) {
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private ResourceVersion version(HttpServletRequest request) {
+        String basePath = restConfiguration.getBasePath().getPath();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (basePath != null && !basePath.isEmpty() && !basePath.equals("/")) {
+            if (!path.startsWith(basePath + "/")) {
+                return null;
+            }
+            path = path.substring(basePath.length());
+        }
+
+        // "/products/search/findByCategoryId" becomes ["", "products", "search", "findByCategoryId"]
+        String[] segments = path.split("/");
+        if (segments.length < 2 || segments.length > 4) {
+            return null;
+        }
+        return switch (segments[1]) {
+            case "products" -> productVersion(segments, request);
+            case "product-category" -> segments.length == 2
+                    ? catalogService.findCategoryVersion()
+                    : segments.length == 3 ? categoryRepository.findVersion() : null;
+            case "countries" -> segments.length <= 3 ? countryRepository.findVersion() : null;
+            case "states" -> segments.length <= 3
+                    || segments[2].equals("search") && segments[3].equals("findByCountryCode")
+                    ? stateRepository.findVersion().and(countryRepository.findVersion())
+                    : null;
+            default -> null;
+        };
+    }
+
+    private ResourceVersion productVersion(String[] segments, HttpServletRequest request) {
+        if (segments.length == 2) {
+            return catalogService.findProductVersion(null);
+        }
+        if (segments.length == 3) {
+            Long id = parseId(segments[2]);
+            ResourceVersion version = id != null ? productRepository.findVersionById(id) : null;
+            // Leave missing products to the 404 of the handler
+            return version != null && version.count() > 0 ? version : null;
+        }
+        if (segments.length == 4 && segments[2].equals("search")
+                && (segments[3].equals("findByCategoryId") || segments[3].equals("browseByCategoryId"))) {
+            Long categoryId = parseId(request.getParameter("id"));
+            return categoryId != null ? catalogService.findProductVersion(categoryId) : null;
+        }
+        return null;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package be.yt.ecommerce.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque continuation token for keyset pagination. Clients only echo it back, so its layout can change
+ * without breaking them.
+ */
+public record KeysetCursor(List<String> values) {
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor of(Object... values) {
+        return new KeysetCursor(Arrays.stream(values).map(String::valueOf).toList());
+    }
+
+    public static KeysetCursor decode(String token, int expectedValues) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> parts = List.of(decoded.split("\\" + SEPARATOR, -1));
+            if (parts.size() != expectedValues + 1 || !VERSION.equals(parts.get(0))) {
+                throw invalid();
+            }
+            return new KeysetCursor(parts.subList(1, parts.size()));
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + String.join(SEPARATOR, values);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long longValue(int index) {
+        try {
+            return Long.parseLong(values.get(index));
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
@@ -0,0 +1,24 @@
+package be.yt.ecommerce.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+
+import java.util.List;
+
+public class KeysetPagedModel<T> extends CollectionModel<T> {
+    private final KeysetMetadata metadata;
+
+    public KeysetPagedModel(Iterable<T> content, KeysetMetadata metadata, List<Link> links) {
+        super(content, links, null);
+        this.metadata = metadata;
+    }
+
+    @JsonProperty("page")
+    public KeysetMetadata getMetadata() {
+        return metadata;
+    }
+
+    public record KeysetMetadata(int size, String nextCursor) {
+    }
+}
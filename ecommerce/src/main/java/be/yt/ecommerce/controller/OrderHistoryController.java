@@ -0,0 +1,67 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.OrderHistoryPage;
+import be.yt.ecommerce.dto.OrderSummary;
+import be.yt.ecommerce.service.OrderAccessTokens;
+import be.yt.ecommerce.service.OrderHistoryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api/orders")
+public class OrderHistoryController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderHistoryService orderHistoryService;
+    private final OrderAccessTokens orderAccessTokens;
+
+    public OrderHistoryController(OrderHistoryService orderHistoryService, OrderAccessTokens orderAccessTokens) {
+        this.orderHistoryService = orderHistoryService;
+        this.orderAccessTokens = orderAccessTokens;
+    }
+
+    /**
+     * Orders of the customer the history token was issued for, newest first. Follow {@code nextCursor} for
+     * older ones.
+     */
+    @GetMapping("/history")
+    public OrderHistoryPage getHistory(@RequestParam("token") String token,
+                                       @RequestParam(value = "size", defaultValue = "20") int size,
+                                       @RequestParam(value = "cursor", required = false) String cursor) {
+        long customerId = orderAccessTokens.customerOfHistoryToken(token).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.FORBIDDEN, "Invalid or expired history token"));
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Date before = null;
+        Long beforeId = null;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, 4);
+            if (position.longValue(0) != customerId) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor belongs to another customer");
+            }
+            before = Timestamp.from(Instant.ofEpochSecond(position.longValue(1), position.longValue(2)));
+            beforeId = position.longValue(3);
+        }
+
+        List<OrderSummary> rows = orderHistoryService.findHistory(customerId, before, beforeId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<OrderSummary> orders = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummary last = orders.get(orders.size() - 1);
+            // Full precision: rows created within the same millisecond must not be skipped
+            Instant created = last.dateCreated().toInstant();
+            nextCursor = KeysetCursor.of(customerId, created.getEpochSecond(), created.getNano(), last.id()).encode();
+        }
+        return new OrderHistoryPage(orders, size, nextCursor);
+    }
+}
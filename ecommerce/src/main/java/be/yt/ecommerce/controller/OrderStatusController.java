@@ -0,0 +1,32 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.OrderStatusView;
+import be.yt.ecommerce.service.OrderAccessTokens;
+import be.yt.ecommerce.service.OrderNotFoundException;
+import be.yt.ecommerce.service.OrderStatusService;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api/orders")
+public class OrderStatusController {
+    private final OrderStatusService orderStatusService;
+    private final OrderAccessTokens orderAccessTokens;
+
+    public OrderStatusController(OrderStatusService orderStatusService, OrderAccessTokens orderAccessTokens) {
+        this.orderStatusService = orderStatusService;
+        this.orderAccessTokens = orderAccessTokens;
+    }
+
+    /**
+     * Needs the status token handed out with the checkout response; a wrong token answers like an unknown
+     * tracking number, so it reveals nothing about which orders exist.
+     */
+    @GetMapping("/{trackingNumber}/status")
+    public OrderStatusView getStatus(@PathVariable String trackingNumber, @RequestParam String token) {
+        if (!orderAccessTokens.isValidStatusToken(trackingNumber, token)) {
+            throw new OrderNotFoundException("No order with tracking number " + trackingNumber);
+        }
+        return orderStatusService.findByTrackingNumber(trackingNumber);
+    }
+}
@@ -0,0 +1,83 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.service.CatalogService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.EmbeddedWrappers;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RepositoryRestController
+public class ProductBrowseController {
+    private final CatalogService catalogService;
+    private final ProductListingModelAssembler listingAssembler;
+
+    public ProductBrowseController(CatalogService catalogService, ProductListingModelAssembler listingAssembler) {
+        this.catalogService = catalogService;
+        this.listingAssembler = listingAssembler;
+    }
+
+    @GetMapping("/products/search/browseByCategoryId")
+    public ResponseEntity<CollectionModel<?>> browseByCategoryId(@RequestParam("id") Long categoryId,
+                                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                                 @RequestParam(value = "paged", defaultValue = "false") boolean paged,
+                                                                 Pageable pageable,
+                                                                 PagedResourcesAssembler<ProductListing> pagedAssembler) {
+        if (paged) {
+            Page<ProductListing> page = catalogService.findByCategoryId(categoryId, pageable);
+            if (page.isEmpty()) {
+                return ResponseEntity.ok(pagedAssembler.toEmptyModel(page, ProductListing.class));
+            }
+            return ResponseEntity.ok(pagedAssembler.toModel(page, listingAssembler));
+        }
+
+        long afterId = 0L;
+        if (cursor != null) {
+            KeysetCursor position = KeysetCursor.decode(cursor, 2);
+            if (position.longValue(0) != categoryId) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor belongs to another category");
+            }
+            afterId = position.longValue(1);
+        }
+
+        int size = pageable.getPageSize();
+        List<ProductListing> rows = catalogService.findByCategoryIdAfter(categoryId, afterId, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<ProductListing> products = hasNext ? rows.subList(0, size) : rows;
+
+        List<Link> links = new ArrayList<>();
+        links.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = KeysetCursor.of(categoryId, products.get(products.size() - 1).id()).encode();
+            String nextHref = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", nextCursor)
+                    .toUriString();
+            links.add(Link.of(nextHref, IanaLinkRelations.NEXT));
+        }
+
+        List<Object> content = new ArrayList<>();
+        if (products.isEmpty()) {
+            content.add(new EmbeddedWrappers(false).emptyCollectionOf(ProductListing.class));
+        } else {
+            products.forEach(product -> content.add(listingAssembler.toModel(product)));
+        }
+
+        return ResponseEntity.ok(new KeysetPagedModel<>(content, new KeysetPagedModel.KeysetMetadata(size, nextCursor), links));
+    }
+}
@@ -0,0 +1,45 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.entity.ProductCategory;
+import be.yt.ecommerce.service.CatalogService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.rest.webmvc.support.RepositoryEntityLinks;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.List;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RepositoryRestController
+public class ProductCategoryController {
+    private final CatalogService catalogService;
+    private final RepositoryEntityLinks entityLinks;
+
+    public ProductCategoryController(CatalogService catalogService, RepositoryEntityLinks entityLinks) {
+        this.catalogService = catalogService;
+        this.entityLinks = entityLinks;
+    }
+
+    @GetMapping("/product-category")
+    public ResponseEntity<PagedModel<?>> findAll(Pageable pageable,
+                                                PagedResourcesAssembler<CategoryListing> pagedAssembler) {
+        List<CategoryListing> categories = catalogService.findCategories();
+        int from = (int) Math.min(pageable.getOffset(), categories.size());
+        int to = Math.min(from + pageable.getPageSize(), categories.size());
+        Page<CategoryListing> page = new PageImpl<>(categories.subList(from, to), pageable, categories.size());
+
+        if (page.isEmpty()) {
+            return ResponseEntity.ok(pagedAssembler.toEmptyModel(page, CategoryListing.class));
+        }
+        return ResponseEntity.ok(pagedAssembler.toModel(page, category -> EntityModel.of(category,
+                entityLinks.linkToItemResource(ProductCategory.class, category.id()).withSelfRel())));
+    }
+}
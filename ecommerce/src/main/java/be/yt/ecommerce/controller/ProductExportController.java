@@ -0,0 +1,74 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.service.ProductExportService;
+import be.yt.ecommerce.service.ProductFileFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full catalog export for feed partners, streamed instead of paged: {@code format=ndjson} (default) or
+ * {@code csv}, optionally narrowed to a {@code categoryId} or to products updated since
+ * {@code updatedSince} (ISO-8601). Compressed with gzip when the client accepts it.
+ */
+@CrossOrigin(origins = "http://localhost:4200")
+@RepositoryRestController
+public class ProductExportController {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportService productExportService;
+
+    public ProductExportController(ProductExportService productExportService) {
+        this.productExportService = productExportService;
+    }
+
+    @GetMapping("/products/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       @RequestParam(value = "categoryId", required = false) Long categoryId,
+                       @RequestParam(value = "updatedSince", required = false)
+                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        ProductFileFormat exportFormat = ProductFileFormat.of(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("products." + exportFormat.extension()).build().toString());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream body = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)
+                : response.getOutputStream();
+        try (body) {
+            productExportService.export(categoryId, updatedSince != null ? Date.from(updatedSince) : null,
+                    exportFormat, body);
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && Arrays.stream(acceptEncoding.split(","))
+                .map(encoding -> encoding.split(";"))
+                .anyMatch(parts -> parts[0].trim().equalsIgnoreCase("gzip") && Arrays.stream(parts).skip(1)
+                        .map(String::trim)
+                        .noneMatch(parameter -> parameter.matches("q=0(\\.0*)?")));
+    }
+}
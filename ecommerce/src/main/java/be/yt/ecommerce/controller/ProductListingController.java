@@ -0,0 +1,50 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.service.CatalogService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Serves the product grid from {@link ProductListing} rows instead of full products, so list pages
+ * neither load categories nor ship descriptions, and from the in-memory catalog once it is loaded.
+ * {@code /products/{id}} still returns the entity.
+ */
+@CrossOrigin(origins = "http://localhost:4200")
+@RepositoryRestController
+public class ProductListingController {
+    private final CatalogService catalogService;
+    private final ProductListingModelAssembler listingAssembler;
+
+    public ProductListingController(CatalogService catalogService, ProductListingModelAssembler listingAssembler) {
+        this.catalogService = catalogService;
+        this.listingAssembler = listingAssembler;
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<PagedModel<?>> findAll(Pageable pageable,
+                                                PagedResourcesAssembler<ProductListing> pagedAssembler) {
+        return ResponseEntity.ok(toModel(catalogService.findAll(pageable), pagedAssembler));
+    }
+
+    @GetMapping("/products/search/findByCategoryId")
+    public ResponseEntity<PagedModel<?>> findByCategoryId(@RequestParam("id") Long categoryId,
+                                                         Pageable pageable,
+                                                         PagedResourcesAssembler<ProductListing> pagedAssembler) {
+        return ResponseEntity.ok(toModel(catalogService.findByCategoryId(categoryId, pageable), pagedAssembler));
+    }
+
+    private PagedModel<?> toModel(Page<ProductListing> page, PagedResourcesAssembler<ProductListing> pagedAssembler) {
+        if (page.isEmpty()) {
+            return pagedAssembler.toEmptyModel(page, ProductListing.class);
+        }
+        return pagedAssembler.toModel(page, listingAssembler);
+    }
+}
@@ -0,0 +1,22 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.entity.Product;
+import org.springframework.data.rest.webmvc.support.RepositoryEntityLinks;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductListingModelAssembler implements RepresentationModelAssembler<ProductListing, EntityModel<ProductListing>> {
+    private final RepositoryEntityLinks entityLinks;
+
+    public ProductListingModelAssembler(RepositoryEntityLinks entityLinks) {
+        this.entityLinks = entityLinks;
+    }
+
+    @Override
+    public EntityModel<ProductListing> toModel(ProductListing listing) {
+        return EntityModel.of(listing, entityLinks.linkToItemResource(Product.class, listing.id()).withSelfRel());
+    }
+}
@@ -0,0 +1,40 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.service.ProductSearchService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@CrossOrigin(origins = "http://localhost:4200")
+@RepositoryRestController
+@ConditionalOnProperty(prefix = "ecommerce.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSearchController {
+    private final ProductSearchService productSearchService;
+    private final ProductListingModelAssembler listingAssembler;
+
+    public ProductSearchController(ProductSearchService productSearchService,
+                                   ProductListingModelAssembler listingAssembler) {
+        this.productSearchService = productSearchService;
+        this.listingAssembler = listingAssembler;
+    }
+
+    @GetMapping("/products/search/findByNameContaining")
+    public ResponseEntity<PagedModel<?>> findByNameContaining(@RequestParam("name") String name,
+                                                             Pageable pageable,
+                                                             PagedResourcesAssembler<ProductListing> pagedAssembler) {
+        Page<ProductListing> page = productSearchService.search(name, pageable);
+
+        if (page.isEmpty()) {
+            return ResponseEntity.ok(pagedAssembler.toEmptyModel(page, ProductListing.class));
+        }
+        return ResponseEntity.ok(pagedAssembler.toModel(page, listingAssembler));
+    }
+}
@@ -1,11 +1,38 @@
 package be.yt.ecommerce.dao;
 
+import be.yt.ecommerce.dto.ResourceVersion;
+import be.yt.ecommerce.entity.CacheRegions;
 import be.yt.ecommerce.entity.Country;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 @CrossOrigin(origins = "http://localhost:4200")
 @RepositoryRestResource(collectionResourceRel = "countries", path = "countries")
+@Transactional(readOnly = true)
 public interface CountryRepository extends JpaRepository<Country, Integer> {
+
+    // Redeclared for the query cache: every checkout form loads the countries
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Override
+    Page<Country> findAll(Pageable pageable);
+
+    @RestResource(exported = false)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Query("select new be.yt.ecommerce.dto.ResourceVersion(count(c), max(c.lastUpdated)) from Country c")
+    ResourceVersion findVersion();
 }
@@ -3,6 +3,14 @@ package be.yt.ecommerce.dao;
 
 import be.yt.ecommerce.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import java.util.Optional;
+
+@RepositoryRestResource(exported = false)
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    @Query("select c.id from Customer c where c.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
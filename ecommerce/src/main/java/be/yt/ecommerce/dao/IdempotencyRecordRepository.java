@@ -0,0 +1,26 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@RepositoryRestResource(exported = false)
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.createdAt = :now
+            where r.key = :key and r.createdAt = :claimedAt and r.orderTrackingNumber is null""")
+    int takeOver(@Param("key") String key, @Param("claimedAt") Instant claimedAt, @Param("now") Instant now);
+}
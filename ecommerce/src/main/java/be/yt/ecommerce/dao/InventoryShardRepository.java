@@ -0,0 +1,59 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.dto.InventoryShardUnits;
+import be.yt.ecommerce.entity.InventoryShard;
+import be.yt.ecommerce.entity.InventoryShardId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@RepositoryRestResource(exported = false)
+public interface InventoryShardRepository extends JpaRepository<InventoryShard, InventoryShardId> {
+    @Query("""
+            select new be.yt.ecommerce.dto.InventoryShardUnits(s.id.shard, s.units)
+            from InventoryShard s
+            where s.id.productId = :productId""")
+    List<InventoryShardUnits> findUnits(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("""
+            update InventoryShard s set s.units = s.units - :quantity
+            where s.id.productId = :productId and s.id.shard = :shard and s.units >= :quantity""")
+    int reserve(@Param("productId") Long productId, @Param("shard") int shard, @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from InventoryShard s where s.id.productId = :productId order by s.id.shard")
+    List<InventoryShard> lockShards(@Param("productId") Long productId);
+
+    @Query("select coalesce(sum(s.units), 0) from InventoryShard s where s.id.productId = :productId")
+    long sumUnits(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("""
+            update InventoryShard s set s.units = :base + case when s.id.shard < :extra then 1 else 0 end
+            where s.id.productId = :productId""")
+    int redistribute(@Param("productId") Long productId, @Param("base") int base, @Param("extra") int extra);
+
+    @Modifying
+    @Query("""
+            update InventoryShard s set s.units = s.units + :base + case when s.id.shard < :extra then 1 else 0 end
+            where s.id.productId = :productId""")
+    int addUnits(@Param("productId") Long productId, @Param("base") int base, @Param("extra") int extra);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Product p
+            set p.unitsInStock = (select cast(sum(s.units) as integer) from InventoryShard s where s.id.productId = p.id),
+                p.dateUpdated = :now
+            where p.unitsInStock <> (select cast(sum(s.units) as integer) from InventoryShard s where s.id.productId = p.id)""")
+    int copyStockToProducts(@Param("now") Date now);
+}
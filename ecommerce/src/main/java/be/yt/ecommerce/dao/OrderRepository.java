@@ -0,0 +1,54 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.dto.OrderStatusView;
+import be.yt.ecommerce.dto.OrderSummary;
+import be.yt.ecommerce.entity.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@RepositoryRestResource(exported = false)
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("""
+            select new be.yt.ecommerce.dto.OrderStatusView(o.orderTrackingNumber, o.status, o.totalPrice,
+                o.totalQuantity, size(o.orderItems), o.dateCreated, o.lastUpdated)
+            from Order o where o.orderTrackingNumber = :trackingNumber""")
+    Optional<OrderStatusView> findStatusByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+    /**
+     * Newest orders of a customer first. Reads only columns of {@code idx_orders_customer_history}.
+     */
+    @Query("""
+            select new be.yt.ecommerce.dto.OrderSummary(o.id, o.orderTrackingNumber, o.status, o.totalPrice,
+                o.totalQuantity, o.dateCreated)
+            from Order o where o.customer.id = :customerId
+            order by o.dateCreated desc, o.id desc""")
+    List<OrderSummary> findHistory(@Param("customerId") Long customerId, Limit limit);
+
+    /**
+     * Next page of {@link #findHistory}: orders placed before the last one of the previous page.
+     */
+    @Query("""
+            select new be.yt.ecommerce.dto.OrderSummary(o.id, o.orderTrackingNumber, o.status, o.totalPrice,
+                o.totalQuantity, o.dateCreated)
+            from Order o
+            where o.customer.id = :customerId
+              and o.dateCreated <= :before and (o.dateCreated < :before or o.id < :beforeId)
+            order by o.dateCreated desc, o.id desc""")
+    List<OrderSummary> findHistoryBefore(@Param("customerId") Long customerId,
+                                         @Param("before") Date before,
+                                         @Param("beforeId") Long beforeId,
+                                         Limit limit);
+
+    @Modifying
+    @Query("update Order o set o.status = :status, o.lastUpdated = current_timestamp where o.orderTrackingNumber = :trackingNumber")
+    int updateStatus(@Param("trackingNumber") String trackingNumber, @Param("status") String status);
+}
@@ -1,11 +1,42 @@
 package be.yt.ecommerce.dao;
 
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.dto.ResourceVersion;
+import be.yt.ecommerce.entity.CacheRegions;
 import be.yt.ecommerce.entity.ProductCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.util.List;
+
 @CrossOrigin(origins = "http://localhost:4200")
 @RepositoryRestResource(collectionResourceRel = "productCategory", path = "product-category")
+@Transactional(readOnly = true)
 public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {
+
+    @RestResource(exported = false)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.CATALOG_QUERIES)
+    })
+    @Query("""
+            select new be.yt.ecommerce.dto.CategoryListing(c.id, c.categoryName, c.lastUpdated)
+            from ProductCategory c
+            order by c.id""")
+    List<CategoryListing> findListings();
+
+    @RestResource(exported = false)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.CATALOG_QUERIES)
+    })
+    @Query("select new be.yt.ecommerce.dto.ResourceVersion(count(c), max(c.lastUpdated)) from ProductCategory c")
+    ResourceVersion findVersion();
 }
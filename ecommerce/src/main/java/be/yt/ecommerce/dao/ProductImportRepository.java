@@ -0,0 +1,117 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.dto.ProductImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes imported products with plain JDBC batches: an import touches far more rows than a persistence
+ * context should hold, and needs none of its change tracking.
+ */
+@Repository
+public class ProductImportRepository {
+    private static final String INSERT = """
+            insert into product (sku, name, description, unit_price, image_url, active, units_in_stock,
+                category_id, date_created, last_updated)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    // Columns missing from the file keep their current value
+    private static final String UPDATE = """
+            update product set name = coalesce(?, name), description = coalesce(?, description),
+                unit_price = coalesce(?, unit_price), image_url = coalesce(?, image_url),
+                active = coalesce(?, active), units_in_stock = coalesce(?, units_in_stock),
+                category_id = ?, last_updated = ?
+            where id = ?""";
+    // Same split as InventoryShardRepository.redistribute: the first shards take the remainder
+    private static final String SET_SHARD_UNITS = """
+            update inventory_shard set units = ? + case when shard < ? then 1 else 0 end
+            where product_id = ?""";
+    private static final int[] INSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DECIMAL,
+            Types.VARCHAR, Types.BOOLEAN, Types.INTEGER, Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+    private static final int[] UPDATE_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR,
+            Types.BOOLEAN, Types.INTEGER, Types.BIGINT, Types.TIMESTAMP, Types.BIGINT};
+    private static final int[] SET_SHARD_UNITS_TYPES = {Types.INTEGER, Types.INTEGER, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ProductImportRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Inserts the rows whose sku is new and updates the others, in one batch each. Rows need a category
+     * id and distinct skus. Imported stock of products with inventory shards is spread over the shards,
+     * which hold the stock of record once a product has them.
+     */
+    public UpsertCount upsert(Collection<ProductImportRow> rows, Timestamp now) {
+        Map<String, Long> ids = findIdsBySku(rows.stream().map(ProductImportRow::sku).toList());
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Map<Long, Integer> updatedStock = new HashMap<>();
+        for (ProductImportRow row : rows) {
+            Long id = ids.get(row.sku());
+            if (id == null) {
+                inserts.add(new Object[]{row.sku(), row.name(), row.description(), row.unitPrice(), row.imageUrl(),
+                        row.active() != null && row.active(), row.unitsInStock() != null ? row.unitsInStock() : 0,
+                        row.categoryId(), now, now});
+            } else {
+                updates.add(new Object[]{row.name(), row.description(), row.unitPrice(), row.imageUrl(),
+                        row.active(), row.unitsInStock(), row.categoryId(), now, id});
+                if (row.unitsInStock() != null) {
+                    updatedStock.put(id, row.unitsInStock());
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, inserts, INSERT_TYPES);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, updates, UPDATE_TYPES);
+        }
+        if (!updatedStock.isEmpty()) {
+            setShardUnits(updatedStock);
+        }
+        return new UpsertCount(inserts.size(), updates.size());
+    }
+
+    private void setShardUnits(Map<Long, Integer> stock) {
+        List<Object[]> shardUpdates = new ArrayList<>();
+        namedJdbcTemplate.query("""
+                        select product_id, count(*) from inventory_shard
+                        where product_id in (:ids) group by product_id""", Map.of("ids", stock.keySet()),
+                resultSet -> {
+                    long productId = resultSet.getLong(1);
+                    int shards = resultSet.getInt(2);
+                    int units = stock.get(productId);
+                    shardUpdates.add(new Object[]{units / shards, units % shards, productId});
+                });
+        if (!shardUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_SHARD_UNITS, shardUpdates, SET_SHARD_UNITS_TYPES);
+        }
+    }
+
+    private Map<String, Long> findIdsBySku(List<String> skus) {
+        Map<String, Long> ids = new HashMap<>(skus.size() * 2);
+        if (!skus.isEmpty()) {
+            namedJdbcTemplate.query("select sku, id from product where sku in (:skus)", Map.of("skus", skus),
+                    resultSet -> {
+                        ids.put(resultSet.getString(1), resultSet.getLong(2));
+                    });
+        }
+        return ids;
+    }
+
+    public record UpsertCount(int inserted, int updated) {
+    }
+}
@@ -1,15 +1,160 @@
 package be.yt.ecommerce.dao;
 
+import be.yt.ecommerce.dto.CatalogProduct;
+import be.yt.ecommerce.dto.ProductExport;
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.dto.ProductPrice;
+import be.yt.ecommerce.dto.ProductSearchDocument;
+import be.yt.ecommerce.dto.ResourceVersion;
 import be.yt.ecommerce.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @CrossOrigin(origins = "http://localhost:4200")
+@Transactional(readOnly = true)
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Page<Product> findByCategoryId(@Param("id") Long categoryId, Pageable pageable);
 
     Page<Product> findByNameContaining(@Param("name") String name, Pageable pageable);
+
+    @RestResource(exported = false)
+    @Query(value = """
+            select new be.yt.ecommerce.dto.ProductListing(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id)
+            from Product p""",
+            countQuery = "select count(p) from Product p")
+    Page<ProductListing> findListings(Pageable pageable);
+
+    @RestResource(exported = false)
+    @Query(value = """
+            select new be.yt.ecommerce.dto.ProductListing(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id)
+            from Product p
+            where p.category.id = :categoryId""",
+            countQuery = "select count(p) from Product p where p.category.id = :categoryId")
+    Page<ProductListing> findListingsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @RestResource(exported = false)
+    @Query(value = """
+            select new be.yt.ecommerce.dto.ProductListing(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id)
+            from Product p
+            where p.name like %:name%""",
+            countQuery = "select count(p) from Product p where p.name like %:name%")
+    Page<ProductListing> findListingsByNameContaining(@Param("name") String name, Pageable pageable);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.ProductListing(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id)
+            from Product p
+            where p.category.id = :categoryId and p.id > :afterId
+            order by p.id""")
+    List<ProductListing> findListingsByCategoryIdAfter(@Param("categoryId") Long categoryId,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.ProductListing(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id)
+            from Product p
+            where p.id in :ids""")
+    List<ProductListing> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.ProductSearchDocument(p.id, p.name, p.description, p.dateUpdated)
+            from Product p
+            where p.id > :afterId
+            order by p.id""")
+    List<ProductSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Limit limit);
+
+    @RestResource(exported = false)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> lockById(@Param("id") Long id);
+
+    @RestResource(exported = false)
+    @Query("select p.id from Product p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.ProductSearchDocument(p.id, p.name, p.description, p.dateUpdated)
+            from Product p
+            where p.dateUpdated >= :since and (p.dateUpdated > :since or p.id > :afterId)
+            order by p.dateUpdated, p.id""")
+    List<ProductSearchDocument> findSearchDocumentsUpdatedSince(@Param("since") Date since,
+                                                                @Param("afterId") Long afterId,
+                                                                Limit limit);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.CatalogProduct(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id,
+                p.dateUpdated)
+            from Product p
+            where p.id > :afterId
+            order by p.id""")
+    List<CatalogProduct> findCatalogProducts(@Param("afterId") Long afterId, Limit limit);
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.CatalogProduct(p.id, p.name, p.unitPrice, p.imageUrl, p.category.id,
+                p.dateUpdated)
+            from Product p
+            where p.dateUpdated >= :since and (p.dateUpdated > :since or p.id > :afterId)
+            order by p.dateUpdated, p.id""")
+    List<CatalogProduct> findCatalogProductsUpdatedSince(@Param("since") Date since,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+
+    /**
+     * Streams the export rows in id order. Must be consumed and closed inside a transaction; rows are
+     * not managed, so the persistence context stays empty however many are read.
+     */
+    @RestResource(exported = false)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new be.yt.ecommerce.dto.ProductExport(p.id, p.sku, p.name, p.description, p.unitPrice, p.imageUrl,
+                p.active, p.unitsInStock, p.category.id, p.dateCreated, p.dateUpdated)
+            from Product p
+            where (:categoryId is null or p.category.id = :categoryId)
+                and (:updatedSince is null or p.dateUpdated >= :updatedSince)
+            order by p.id""")
+    Stream<ProductExport> streamExport(@Param("categoryId") Long categoryId, @Param("updatedSince") Date updatedSince);
+
+    @RestResource(exported = false)
+    @Query("select new be.yt.ecommerce.dto.ResourceVersion(count(p), max(p.dateUpdated)) from Product p")
+    ResourceVersion findVersion();
+
+    @RestResource(exported = false)
+    @Query("""
+            select new be.yt.ecommerce.dto.ResourceVersion(count(p), max(p.dateUpdated))
+            from Product p
+            where p.category.id = :categoryId""")
+    ResourceVersion findVersionByCategoryId(@Param("categoryId") Long categoryId);
+
+    @RestResource(exported = false)
+    @Query("select new be.yt.ecommerce.dto.ResourceVersion(count(p), max(p.dateUpdated)) from Product p where p.id = :id")
+    ResourceVersion findVersionById(@Param("id") Long id);
+
+    @RestResource(exported = false)
+    @Query("select new be.yt.ecommerce.dto.ProductPrice(p.id, p.unitPrice) from Product p where p.id in :ids")
+    List<ProductPrice> findPrices(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,46 @@
 package be.yt.ecommerce.dao;
 
+import be.yt.ecommerce.dto.ResourceVersion;
+import be.yt.ecommerce.entity.CacheRegions;
 import be.yt.ecommerce.entity.State;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:4200")
 @RepositoryRestResource
+@Transactional(readOnly = true)
 public interface StateRepository extends JpaRepository<State, Integer> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     List<State> findByCountryCode(@Param("code") String countryCode);
+
+    // Redeclared for the query cache
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Override
+    Page<State> findAll(Pageable pageable);
+
+    @RestResource(exported = false)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
+    @Query("select new be.yt.ecommerce.dto.ResourceVersion(count(s), max(s.lastUpdated)) from State s")
+    ResourceVersion findVersion();
 }
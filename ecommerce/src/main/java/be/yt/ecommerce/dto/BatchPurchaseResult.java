@@ -0,0 +1,12 @@
+package be.yt.ecommerce.dto;
+
+/**
+ * Outcome of one purchase of a batch checkout.
+ *
+ * @param status              HTTP status the purchase would have got on its own
+ * @param orderTrackingNumber set when the order was placed
+ * @param statusToken         set when the order was placed, see {@link PurchaseResponse#statusToken()}
+ * @param error               set when it was not
+ */
+public record BatchPurchaseResult(int status, String orderTrackingNumber, String statusToken, String error) {
+}
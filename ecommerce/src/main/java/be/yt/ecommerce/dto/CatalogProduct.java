@@ -0,0 +1,16 @@
+package be.yt.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public record CatalogProduct(Long id,
+                             String name,
+                             BigDecimal unitPrice,
+                             String imageUrl,
+                             Long categoryId,
+                             Date dateUpdated) {
+
+    public ProductListing toListing() {
+        return new ProductListing(id, name, unitPrice, imageUrl, categoryId);
+    }
+}
@@ -0,0 +1,9 @@
+package be.yt.ecommerce.dto;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.Date;
+
+@Relation(itemRelation = "productCategory", collectionRelation = "productCategory")
+public record CategoryListing(Long id, String categoryName, Date lastUpdated) {
+}
@@ -0,0 +1,4 @@
+package be.yt.ecommerce.dto;
+
+public record InventoryShardUnits(int shard, int units) {
+}
@@ -0,0 +1,9 @@
+package be.yt.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code cursor} to get the next, older orders; null on the last page
+ */
+public record OrderHistoryPage(List<OrderSummary> orders, int size, String nextCursor) {
+}
@@ -0,0 +1,13 @@
+package be.yt.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public record OrderStatusView(String orderTrackingNumber,
+                              String status,
+                              BigDecimal totalPrice,
+                              int totalQuantity,
+                              int itemCount,
+                              Date dateCreated,
+                              Date lastUpdated) {
+}
@@ -0,0 +1,17 @@
+package be.yt.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * @param id only used to continue the order history after this order
+ */
+public record OrderSummary(@JsonIgnore Long id,
+                           String orderTrackingNumber,
+                           String status,
+                           BigDecimal totalPrice,
+                           int totalQuantity,
+                           Date dateCreated) {
+}
@@ -0,0 +1,17 @@
+package be.yt.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public record ProductExport(Long id,
+                            String sku,
+                            String name,
+                            String description,
+                            BigDecimal unitPrice,
+                            String imageUrl,
+                            boolean active,
+                            int unitsInStock,
+                            Long categoryId,
+                            Date dateCreated,
+                            Date lastUpdated) {
+}
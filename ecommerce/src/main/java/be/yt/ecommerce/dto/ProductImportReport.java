@@ -0,0 +1,15 @@
+package be.yt.ecommerce.dto;
+
+import java.util.List;
+
+/**
+ * @param errors the first errors, with the line of the file they occurred on
+ */
+public record ProductImportReport(long rows,
+                                  long inserted,
+                                  long updated,
+                                  long rejected,
+                                  long categoriesCreated,
+                                  long elapsedMillis,
+                                  List<String> errors) {
+}
@@ -0,0 +1,26 @@
+package be.yt.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * One product of an import file. The category is given by name, which is created when missing, or by
+ * id; the other columns of an export file are ignored, so an export can be imported again.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ProductImportRow(String sku,
+                               String name,
+                               String description,
+                               BigDecimal unitPrice,
+                               String imageUrl,
+                               Boolean active,
+                               Integer unitsInStock,
+                               Long categoryId,
+                               String categoryName) {
+
+    public ProductImportRow withCategoryId(Long categoryId) {
+        return new ProductImportRow(sku, name, description, unitPrice, imageUrl, active, unitsInStock,
+                categoryId, categoryName);
+    }
+}
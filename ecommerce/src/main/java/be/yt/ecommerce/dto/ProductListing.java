@@ -0,0 +1,13 @@
+package be.yt.ecommerce.dto;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.math.BigDecimal;
+
+/**
+ * What the product grid shows of a product. Rendered under the same {@code products} relation as the
+ * entity, so list responses keep their shape; the full product is behind the item's self link.
+ */
+@Relation(itemRelation = "product", collectionRelation = "products")
+public record ProductListing(Long id, String name, BigDecimal unitPrice, String imageUrl, Long categoryId) {
+}
@@ -0,0 +1,6 @@
+package be.yt.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+public record ProductPrice(Long id, BigDecimal unitPrice) {
+}
@@ -0,0 +1,6 @@
+package be.yt.ecommerce.dto;
+
+import java.util.Date;
+
+public record ProductSearchDocument(Long id, String name, String description, Date dateUpdated) {
+}
@@ -1,4 +1,11 @@
 package be.yt.ecommerce.dto;
 
-public record PurchaseResponse(String orderTrackingNumber) {
+/**
+ * @param orderTrackingNumber identifies the order
+ * @param statusToken         grants access to {@code GET /api/orders/{orderTrackingNumber}/status}
+ */
+public record PurchaseResponse(String orderTrackingNumber, String statusToken) {
+    public PurchaseResponse(String orderTrackingNumber) {
+        this(orderTrackingNumber, null);
+    }
 }
@@ -0,0 +1,29 @@
+package be.yt.ecommerce.dto;
+
+import java.util.Date;
+
+/**
+ * Row count and latest {@code last_updated} of the rows behind a response. Any insert, update or
+ * delete moves one of them, down to the precision of the column, so together they serve as the
+ * response's validator.
+ */
+public record ResourceVersion(Long count, Date lastModified) {
+
+    public String etag() {
+        return "\"" + count + "-" + lastModifiedMillis() + "\"";
+    }
+
+    /**
+     * Version of a response built from the rows behind both versions.
+     */
+    public ResourceVersion and(ResourceVersion other) {
+        Date latest = lastModified == null || other.lastModified != null && other.lastModified.after(lastModified)
+                ? other.lastModified
+                : lastModified;
+        return new ResourceVersion(count + other.count, latest);
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.getTime() : -1;
+    }
+}
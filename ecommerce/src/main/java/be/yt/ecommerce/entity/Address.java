@@ -10,7 +10,7 @@ import lombok.Setter;
 @Setter
 public class Address {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     private String street;
     private String city;
@@ -0,0 +1,19 @@
+package be.yt.ecommerce.entity;
+
+/**
+ * Names of the Hibernate second-level cache regions, sized and expired in
+ * {@link be.yt.ecommerce.config.SecondLevelCacheConfig}.
+ */
+public final class CacheRegions {
+    public static final String COUNTRY = "country";
+    public static final String STATE = "state";
+    public static final String PRODUCT_CATEGORY = "product-category";
+    public static final String PRODUCT = "product";
+    // Query results over countries and states
+    public static final String REFERENCE_QUERIES = "reference-queries";
+    // Query results over product categories
+    public static final String CATALOG_QUERIES = "catalog-queries";
+
+    private CacheRegions() {
+    }
+}
@@ -8,12 +8,14 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "customer")
+@Table(name = "customer", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_customer_email", columnNames = "email")
+})
 @Getter
 @Setter
 public class Customer {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     private String firstName;
     private String lastName;
@@ -0,0 +1,70 @@
+package be.yt.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    private String orderTrackingNumber;
+
+    @Column(length = 64)
+    private String requestHash;
+
+    private Instant createdAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    @Transient
+    private boolean isNew;
+
+    public IdempotencyRecord(String key, Instant createdAt, Instant expiresAt) {
+        this.key = key;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.isNew = true;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public boolean isCompleted() {
+        return orderTrackingNumber != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+
+    public boolean matches(String requestHash) {
+        return this.requestHash == null || this.requestHash.equals(requestHash);
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+}
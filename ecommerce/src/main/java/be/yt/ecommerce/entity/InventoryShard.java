@@ -0,0 +1,43 @@
+package be.yt.ecommerce.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * One slice of a product's stock. Checkouts reserve from a single slice, so concurrent orders for the
+ * same product mostly lock different rows.
+ */
+@Entity
+@Table(name = "inventory_shard")
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryShard implements Persistable<InventoryShardId> {
+    @EmbeddedId
+    private InventoryShardId id;
+
+    private int units;
+
+    @Transient
+    private boolean isNew;
+
+    public InventoryShard(Long productId, int shard, int units) {
+        this.id = new InventoryShardId(productId, shard);
+        this.units = units;
+        this.isNew = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+}
@@ -0,0 +1,9 @@
+package be.yt.ecommerce.entity;
+
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+@Embeddable
+public record InventoryShardId(Long productId, int shard) implements Serializable {
+}
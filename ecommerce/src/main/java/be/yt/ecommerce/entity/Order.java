@@ -12,12 +12,18 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_orders_tracking_number", columnNames = "order_tracking_number")
+}, indexes = {
+        // Order history: seek on the first three columns, read the summary from the index alone
+        @Index(name = "idx_orders_customer_history",
+                columnList = "customer_id, date_created, id, order_tracking_number, status, total_price, total_quantity")
+})
 @Getter
 @Setter
 public class Order {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     private String orderTrackingNumber;
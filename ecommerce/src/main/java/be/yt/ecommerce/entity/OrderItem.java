@@ -12,7 +12,7 @@ import java.math.BigDecimal;
 @Setter
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     private String imageUrl;
@@ -2,10 +2,17 @@ package be.yt.ecommerce.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.util.Date;
 
 @Entity
 @Table(name = "state")
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.STATE)
 public class State {
     @Id
     @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
@@ -15,4 +22,7 @@ public class State {
     @ManyToOne
     @JoinColumn(name = "country_id")
     private Country country;
+
+    @UpdateTimestamp
+    private Date lastUpdated;
 }
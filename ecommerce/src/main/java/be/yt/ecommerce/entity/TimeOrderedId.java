@@ -0,0 +1,23 @@
+package be.yt.ecommerce.entity;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a {@link TimeOrderedIds} id on persist. The ids are above 2^53, so they are written to JSON as
+ * strings to survive JavaScript clients that parse numbers as doubles.
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@JacksonAnnotationsInside
+@JsonSerialize(using = ToStringSerializer.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
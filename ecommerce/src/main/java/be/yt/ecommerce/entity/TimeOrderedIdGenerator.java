@@ -0,0 +1,12 @@
+package be.yt.ecommerce.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedIds.getDefault().next();
+    }
+}
@@ -0,0 +1,78 @@
+package be.yt.ecommerce.entity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free source of 64-bit, time-ordered identifiers: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id and a 12 bit per-millisecond sequence. When the sequence is exhausted the
+ * generator borrows the next millisecond, so ids stay strictly increasing per node even if the
+ * wall clock stalls or steps back.
+ * <p>
+ * The node id comes from the {@code ecommerce.node-id} system property or the {@code ECOMMERCE_NODE_ID}
+ * environment variable and falls back to a hash of host name and process id. Two instances can hash to
+ * the same node id and then generate the same ids, so the fallback is logged as a warning; every instance
+ * of a deployment needs a node id of its own.
+ */
+public final class TimeOrderedIds {
+    private static final Logger log = LoggerFactory.getLogger(TimeOrderedIds.class);
+    static final long EPOCH = 1704067200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final TimeOrderedIds DEFAULT = new TimeOrderedIds(resolveNodeId(), System::currentTimeMillis);
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedIds(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public static TimeOrderedIds getDefault() {
+        return DEFAULT;
+    }
+
+    public long next() {
+        long now = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+        long tick = lastTick.updateAndGet(last -> Math.max(last + 1, now));
+        long millis = tick >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (tick & SEQUENCE_MASK);
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    private static long resolveNodeId() {
+        String configured = System.getProperty("ecommerce.node-id", System.getenv("ECOMMERCE_NODE_ID"));
+        if (configured != null && !configured.isBlank()) {
+            return Long.parseLong(configured.strip());
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        String runtime = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        long nodeId = (runtime.hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+        log.warn("No node id configured, using {} hashed from {}. Instances sharing a node id generate duplicate "
+                + "primary keys and tracking numbers; set ECOMMERCE_NODE_ID or -Decommerce.node-id (0-{}) to a "
+                + "distinct value on every instance", nodeId, runtime, MAX_NODE_ID);
+        return nodeId;
+    }
+}
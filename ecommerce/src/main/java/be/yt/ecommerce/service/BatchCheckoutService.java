@@ -0,0 +1,91 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.BatchCheckoutProperties;
+import be.yt.ecommerce.dto.BatchPurchaseResult;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.OrderItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Places many orders in one call. Purchases are validated first; the valid ones are written
+ * by {@link CheckoutBatchWriter} in chunks of {@code ecommerce.checkout.batch.chunk-size}, one transaction
+ * per chunk, so their inserts go out as JDBC batches. A chunk that fails is retried purchase by purchase.
+ * Every purchase gets its own result, in the order it was sent, and failures never affect the others.
+ */
+@Service
+public class BatchCheckoutService {
+    private static final Logger log = LoggerFactory.getLogger(BatchCheckoutService.class);
+
+    private final CheckoutBatchWriter batchWriter;
+    private final BatchCheckoutProperties properties;
+
+    public BatchCheckoutService(CheckoutBatchWriter batchWriter, BatchCheckoutProperties properties) {
+        this.batchWriter = batchWriter;
+        this.properties = properties;
+    }
+
+    public List<BatchPurchaseResult> placeOrders(List<Purchase> purchases) {
+        if (purchases.size() > properties.maxPurchases()) {
+            throw new InvalidOrderException("A batch holds at most " + properties.maxPurchases() + " purchases");
+        }
+
+        BatchPurchaseResult[] results = new BatchPurchaseResult[purchases.size()];
+        // Checking a few fields per purchase costs less than handing the work to other threads
+        for (int i = 0; i < purchases.size(); i++) {
+            try {
+                validate(purchases.get(i));
+            } catch (InvalidOrderException e) {
+                results[i] = failure(e);
+            }
+        }
+
+        List<Integer> valid = IntStream.range(0, purchases.size()).filter(i -> results[i] == null).boxed().toList();
+        for (int from = 0; from < valid.size(); from += properties.chunkSize()) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + properties.chunkSize(), valid.size()));
+            List<CheckoutBatchWriter.Outcome> outcomes = batchWriter.write(chunk.stream().map(purchases::get).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                CheckoutBatchWriter.Outcome outcome = outcomes.get(i);
+                results[chunk.get(i)] = outcome.isSuccess()
+                        ? new BatchPurchaseResult(HttpStatus.OK.value(), outcome.response().orderTrackingNumber(), null, null)
+                        : failure(outcome.error());
+            }
+        }
+        return List.of(results);
+    }
+
+    private static void validate(Purchase purchase) {
+        if (purchase == null || purchase.getOrder() == null || purchase.getCustomer() == null) {
+            throw new InvalidOrderException("Purchase needs an order and a customer");
+        }
+        if (purchase.getOrderItems() == null || purchase.getOrderItems().isEmpty()) {
+            throw new InvalidOrderException("Order has no items");
+        }
+        for (OrderItem item : purchase.getOrderItems()) {
+            if (item.getProductId() == null || item.getQuantity() <= 0) {
+                throw new InvalidOrderException("Order item needs a product and a positive quantity");
+            }
+        }
+    }
+
+    private static BatchPurchaseResult failure(RuntimeException error) {
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(error.getClass(), ResponseStatus.class);
+        if (status != null) {
+            return new BatchPurchaseResult(status.code().value(), null, null, error.getMessage());
+        }
+        if (error instanceof ConcurrencyFailureException) {
+            return new BatchPurchaseResult(HttpStatus.CONFLICT.value(), null, null, "Purchase conflicted with another checkout, retry it");
+        }
+        log.warn("Purchase of a batch checkout failed", error);
+        return new BatchPurchaseResult(HttpStatus.INTERNAL_SERVER_ERROR.value(), null, null, "Purchase could not be placed");
+    }
+}
@@ -0,0 +1,46 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.entity.CacheRegions;
+import be.yt.ecommerce.entity.Country;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import be.yt.ecommerce.entity.State;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drops second-level cache entries after writes Hibernate did not see: plain JDBC, other applications
+ * or SQL run by hand. Writes through repositories and JPQL need none of this.
+ */
+@Service
+public class CatalogCacheInvalidator {
+    private final SessionFactory sessionFactory;
+
+    public CatalogCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public void productChanged(Long productId) {
+        sessionFactory.getCache().evictEntityData(Product.class, productId);
+    }
+
+    public void productsChanged() {
+        sessionFactory.getCache().evictEntityData(Product.class);
+    }
+
+    public void categoriesChanged() {
+        sessionFactory.getCache().evictEntityData(ProductCategory.class);
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.CATALOG_QUERIES);
+    }
+
+    public void referenceDataChanged() {
+        sessionFactory.getCache().evictEntityData(Country.class);
+        sessionFactory.getCache().evictEntityData(State.class);
+        sessionFactory.getCache().evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
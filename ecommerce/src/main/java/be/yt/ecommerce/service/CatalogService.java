@@ -0,0 +1,200 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.CatalogProperties;
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.CatalogProduct;
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.dto.ResourceVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves product listings and categories from a {@link CatalogSnapshot} held in memory.
+ * <p>
+ * The first refresh loads the whole catalog; later ones read only products whose {@code last_updated}
+ * moved past the watermark, and swap in a new snapshot when something actually changed. Until the
+ * first load, when disabled, or for sort orders the snapshot has no index for, reads go to the
+ * database.
+ * <p>
+ * Incremental refreshes only see rows that still exist. Products deleted in the database stay in the
+ * snapshot until {@link #reload()} rebuilds it, every {@code ecommerce.catalog.reload-interval}.
+ */
+@Service
+public class CatalogService {
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductCategoryRepository categoryRepository;
+    private final CatalogProperties properties;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile CatalogSnapshot snapshot;
+    private Date watermark = new Date(0);
+
+    public CatalogService(ProductRepository productRepository,
+                          ProductCategoryRepository categoryRepository,
+                          CatalogProperties properties) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.properties = properties;
+    }
+
+    public Page<ProductListing> findAll(Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || !CatalogSnapshot.supports(pageable.getSort())) {
+            return productRepository.findListings(pageable);
+        }
+        return current.findAll(pageable);
+    }
+
+    public Page<ProductListing> findByCategoryId(Long categoryId, Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || !CatalogSnapshot.supports(pageable.getSort())) {
+            return productRepository.findListingsByCategoryId(categoryId, pageable);
+        }
+        return current.findByCategoryId(categoryId, pageable);
+    }
+
+    public List<ProductListing> findByCategoryIdAfter(Long categoryId, Long afterId, int limit) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return productRepository.findListingsByCategoryIdAfter(categoryId, afterId, Limit.of(limit));
+        }
+        return current.findByCategoryIdAfter(categoryId, afterId, limit);
+    }
+
+    public List<CategoryListing> findCategories() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return categoryRepository.findListings();
+        }
+        return current.categories();
+    }
+
+    /**
+     * Validator for product listings, of one category or all of them. Taken from the snapshot when
+     * listings are served from it, so it never runs ahead of what a response contains.
+     */
+    public ResourceVersion findProductVersion(Long categoryId) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current.version();
+        }
+        return categoryId != null
+                ? productRepository.findVersionByCategoryId(categoryId)
+                : productRepository.findVersion();
+    }
+
+    public ResourceVersion findCategoryVersion() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current.categoryVersion();
+        }
+        return categoryRepository.findVersion();
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.catalog.refresh-interval:5s}")
+    public void refresh() {
+        if (!properties.enabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            refreshSnapshot(false);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.catalog.reload-interval:10m}",
+            initialDelayString = "${ecommerce.catalog.reload-interval:10m}")
+    public void reload() {
+        if (!properties.enabled()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            refreshSnapshot(true);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshSnapshot(boolean full) {
+        CatalogSnapshot current = snapshot;
+        boolean reload = full || current == null;
+        List<ProductListing> changed = reload ? loadAll() : loadChanged(current);
+        List<CategoryListing> categories = categoryRepository.findListings();
+
+        if (reload) {
+            snapshot = CatalogSnapshot.empty().withChanges(changed, categories, new Date(watermark.getTime()));
+            log.info("Loaded catalog snapshot of {} products", changed.size());
+        } else if (!changed.isEmpty() || !categories.equals(current.categories())) {
+            snapshot = current.withChanges(changed, categories, new Date(watermark.getTime()));
+            log.debug("Refreshed catalog snapshot with {} changed products", changed.size());
+        }
+    }
+
+    private List<ProductListing> loadAll() {
+        List<ProductListing> products = new ArrayList<>();
+        Long afterId = 0L;
+        List<CatalogProduct> chunk;
+        do {
+            chunk = productRepository.findCatalogProducts(afterId, Limit.of(properties.batchSize()));
+            for (CatalogProduct product : chunk) {
+                products.add(product.toListing());
+                advanceWatermark(product);
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == properties.batchSize());
+        return products;
+    }
+
+    private List<ProductListing> loadChanged(CatalogSnapshot current) {
+        List<ProductListing> changed = new ArrayList<>();
+        Date since = new Date(watermark.getTime() - properties.refreshOverlap().toMillis());
+        Long afterId = 0L;
+        List<CatalogProduct> chunk;
+        do {
+            chunk = productRepository.findCatalogProductsUpdatedSince(since, afterId, Limit.of(properties.batchSize()));
+            for (CatalogProduct product : chunk) {
+                ProductListing listing = product.toListing();
+                // The overlap re-reads recent rows; only rows that differ need a new snapshot
+                if (!listing.equals(current.find(product.id()))) {
+                    changed.add(listing);
+                }
+                advanceWatermark(product);
+            }
+            if (!chunk.isEmpty()) {
+                CatalogProduct last = chunk.get(chunk.size() - 1);
+                since = last.dateUpdated();
+                afterId = last.id();
+            }
+        } while (chunk.size() == properties.batchSize());
+        return changed;
+    }
+
+    private void advanceWatermark(CatalogProduct product) {
+        if (product.dateUpdated() != null && product.dateUpdated().after(watermark)) {
+            watermark = new Date(product.dateUpdated().getTime());
+        }
+    }
+}
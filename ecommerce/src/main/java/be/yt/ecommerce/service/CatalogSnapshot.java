@@ -0,0 +1,184 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.dto.ResourceVersion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable copy of the catalog. Products are kept in id order; the listings of a category and the
+ * price order are pre-computed as arrays of positions into that order, so a page is an array slice.
+ * {@link #withChanges} builds a new snapshot and leaves this one untouched for readers still using it.
+ */
+public final class CatalogSnapshot {
+    private static final Set<String> SORTABLE = Set.of("id", "unitPrice");
+    private static final int[] NONE = new int[0];
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(new ProductListing[0], List.of(), null);
+
+    private final ProductListing[] products;
+    private final long[] ids;
+    private final int[] byId;
+    private final int[] byPrice;
+    private final Map<Long, int[]> byCategory;
+    private final Map<Long, int[]> byCategoryPrice;
+    private final List<CategoryListing> categories;
+    private final Date lastModified;
+    private final ResourceVersion categoryVersion;
+
+    private CatalogSnapshot(ProductListing[] products, List<CategoryListing> categories, Date lastModified) {
+        this.products = products;
+        this.categories = categories;
+        this.lastModified = lastModified;
+        this.categoryVersion = new ResourceVersion((long) categories.size(), categories.stream()
+                .map(CategoryListing::lastUpdated)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+
+        ids = new long[products.length];
+        byId = new int[products.length];
+        Map<Long, Integer> categorySizes = new HashMap<>();
+        for (int i = 0; i < products.length; i++) {
+            ids[i] = products[i].id();
+            byId[i] = i;
+            categorySizes.merge(products[i].categoryId(), 1, Integer::sum);
+        }
+
+        byCategory = new HashMap<>(categorySizes.size() * 2);
+        Map<Long, Integer> filled = new HashMap<>(categorySizes.size() * 2);
+        categorySizes.forEach((categoryId, size) -> byCategory.put(categoryId, new int[size]));
+        for (int i = 0; i < products.length; i++) {
+            Long categoryId = products[i].categoryId();
+            byCategory.get(categoryId)[filled.merge(categoryId, 1, Integer::sum) - 1] = i;
+        }
+
+        byPrice = sortByPrice(byId);
+        byCategoryPrice = new HashMap<>(byCategory.size() * 2);
+        byCategory.forEach((categoryId, positions) -> byCategoryPrice.put(categoryId, sortByPrice(positions)));
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Whether pages in this order can be served from a snapshot: unsorted, or by id or price alone.
+     */
+    public static boolean supports(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.isEmpty() || orders.size() == 1 && SORTABLE.contains(orders.get(0).getProperty());
+    }
+
+    /**
+     * @param lastModified latest {@code last_updated} of the products, after the changes
+     */
+    public CatalogSnapshot withChanges(Collection<ProductListing> changed, List<CategoryListing> categories,
+                                       Date lastModified) {
+        TreeMap<Long, ProductListing> merged = new TreeMap<>();
+        for (ProductListing product : products) {
+            merged.put(product.id(), product);
+        }
+        for (ProductListing product : changed) {
+            merged.put(product.id(), product);
+        }
+        return new CatalogSnapshot(merged.values().toArray(new ProductListing[0]), List.copyOf(categories), lastModified);
+    }
+
+    public ProductListing find(long id) {
+        int position = Arrays.binarySearch(ids, id);
+        return position >= 0 ? products[position] : null;
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    /**
+     * Validator of the product listings served from this snapshot.
+     */
+    public ResourceVersion version() {
+        return new ResourceVersion((long) products.length, lastModified);
+    }
+
+    /**
+     * Validator of the categories served from this snapshot.
+     */
+    public ResourceVersion categoryVersion() {
+        return categoryVersion;
+    }
+
+    public List<CategoryListing> categories() {
+        return categories;
+    }
+
+    public Page<ProductListing> findAll(Pageable pageable) {
+        return page(byId, byPrice, pageable);
+    }
+
+    public Page<ProductListing> findByCategoryId(Long categoryId, Pageable pageable) {
+        return page(byCategory.getOrDefault(categoryId, NONE), byCategoryPrice.getOrDefault(categoryId, NONE), pageable);
+    }
+
+    public List<ProductListing> findByCategoryIdAfter(Long categoryId, long afterId, int limit) {
+        int[] positions = byCategory.getOrDefault(categoryId, NONE);
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[positions[mid]] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<ProductListing> content = new ArrayList<>(Math.min(limit, positions.length - low));
+        for (int i = low; i < positions.length && content.size() < limit; i++) {
+            content.add(products[positions[i]]);
+        }
+        return content;
+    }
+
+    private Page<ProductListing> page(int[] idOrder, int[] priceOrder, Pageable pageable) {
+        if (!supports(pageable.getSort())) {
+            throw new IllegalArgumentException("Catalog snapshot cannot sort by " + pageable.getSort());
+        }
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        int[] positions = order != null && order.getProperty().equals("unitPrice") ? priceOrder : idOrder;
+        boolean descending = order != null && order.isDescending();
+
+        int total = positions.length;
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), total) : total;
+        List<ProductListing> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(products[positions[descending ? total - 1 - i : i]]);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private int[] sortByPrice(int[] positions) {
+        Comparator<ProductListing> byPrice = Comparator.comparing(ProductListing::unitPrice,
+                Comparator.nullsLast(Comparator.naturalOrder()));
+        return Arrays.stream(positions)
+                .boxed()
+                .sorted(Comparator.comparing((Integer position) -> products[position], byPrice))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
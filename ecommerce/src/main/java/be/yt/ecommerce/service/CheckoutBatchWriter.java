@@ -0,0 +1,72 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists several purchases in one transaction. If that transaction fails, each purchase is retried
+ * in a transaction of its own, so a single bad purchase only fails itself. A lone purchase is only
+ * retried after a concurrency failure, which {@link CheckoutServiceImpl#placeOrder} retries as it does
+ * for direct checkouts; any other failure would just happen again.
+ */
+@Component
+public class CheckoutBatchWriter {
+    private static final Logger log = LoggerFactory.getLogger(CheckoutBatchWriter.class);
+
+    private final CheckoutServiceImpl checkoutService;
+    private final TransactionTemplate transactionTemplate;
+
+    public CheckoutBatchWriter(CheckoutServiceImpl checkoutService, PlatformTransactionManager transactionManager) {
+        this.checkoutService = checkoutService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<Outcome> write(List<Purchase> purchases) {
+        try {
+            List<PurchaseResponse> responses = transactionTemplate.execute(status -> purchases.stream()
+                    .map(checkoutService::persist)
+                    .toList());
+            return responses.stream().map(Outcome::success).toList();
+        } catch (RuntimeException batchFailure) {
+            if (purchases.size() > 1) {
+                log.warn("Batch of {} purchases failed, retrying them one by one", purchases.size(), batchFailure);
+            } else if (!(batchFailure instanceof ConcurrencyFailureException)) {
+                return List.of(Outcome.failure(batchFailure));
+            }
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(purchases.size());
+        for (Purchase purchase : purchases) {
+            CheckoutServiceImpl.resetIdentifiers(purchase);
+            try {
+                outcomes.add(Outcome.success(checkoutService.placeOrder(purchase)));
+            } catch (RuntimeException e) {
+                outcomes.add(Outcome.failure(e));
+            }
+        }
+        return outcomes;
+    }
+
+    public record Outcome(PurchaseResponse response, RuntimeException error) {
+        static Outcome success(PurchaseResponse response) {
+            return new Outcome(response, null);
+        }
+
+        static Outcome failure(RuntimeException error) {
+            return new Outcome(null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package be.yt.ecommerce.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CheckoutRejectedException extends RuntimeException {
+    public CheckoutRejectedException(String message) {
+        super(message);
+    }
+}
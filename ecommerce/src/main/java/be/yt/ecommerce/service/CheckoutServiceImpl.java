@@ -1,48 +1,119 @@
 package be.yt.ecommerce.service;
 
-import be.yt.ecommerce.dao.CustomerRepository;
+import be.yt.ecommerce.dao.OrderRepository;
 import be.yt.ecommerce.dto.Purchase;
 import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.entity.Address;
 import be.yt.ecommerce.entity.Customer;
 import be.yt.ecommerce.entity.Order;
 import be.yt.ecommerce.entity.OrderItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class CheckoutServiceImpl implements CheckoutService {
-    private final CustomerRepository customerRepository;
+    private static final Logger log = LoggerFactory.getLogger(CheckoutServiceImpl.class);
+    private static final int MAX_ATTEMPTS = 3;
 
-    public CheckoutServiceImpl(CustomerRepository customerRepository) {
-        this.customerRepository = customerRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerService customerService;
+    private final PricingService pricingService;
+    private final InventoryService inventoryService;
+    private final OrderTrackingNumberGenerator trackingNumberGenerator;
+    private final RecentWrites recentWrites;
+    private final TransactionTemplate transactionTemplate;
+
+    public CheckoutServiceImpl(OrderRepository orderRepository,
+                               CustomerService customerService,
+                               PricingService pricingService,
+                               InventoryService inventoryService,
+                               OrderTrackingNumberGenerator trackingNumberGenerator,
+                               RecentWrites recentWrites,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.customerService = customerService;
+        this.pricingService = pricingService;
+        this.inventoryService = inventoryService;
+        this.trackingNumberGenerator = trackingNumberGenerator;
+        this.recentWrites = recentWrites;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * Runs in a read-write transaction, so on the primary even when reads go to replicas.
+     */
     @Override
-    @Transactional
     public PurchaseResponse placeOrder(Purchase purchase) {
+        // Deadlocks, lock timeouts and racing first orders of a customer only doom the transaction they
+        // happened in, so retry when we own it
+        boolean ownsTransaction = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> persist(purchase));
+            } catch (ConcurrencyFailureException e) {
+                if (!ownsTransaction || attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Checkout hit a concurrency conflict, retrying (attempt {})", attempt, e);
+                resetIdentifiers(purchase);
+            }
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PurchaseResponse persist(Purchase purchase) {
+        pricingService.price(purchase);
+
         Order order = purchase.getOrder();
 
-        String orderTrackingNumber = generateOrderTrackingNumber();
+        String orderTrackingNumber = trackingNumberGenerator.next();
         order.setOrderTrackingNumber(orderTrackingNumber);
 
         Set<OrderItem> orderItems = purchase.getOrderItems();
+        inventoryService.reserve(orderItems);
         orderItems.forEach(order::add);
 
         order.setBillingAddress(purchase.getBillingAddress());
         order.setShippingAddress(purchase.getShippingAddress());
 
-        Customer customer = purchase.getCustomer();
-        customer.add(order);
+        Customer customer = customerService.findOrCreate(purchase.getCustomer());
+        order.setCustomer(customer);
 
-        customerRepository.save(customer);
+        orderRepository.save(order);
+        // The buyer polls the status next; read it from the primary until the replicas have the order
+        recentWrites.written(orderTrackingNumber);
+        recentWrites.written(OrderHistoryService.recentWritesKey(customer.getId()));
 
         return new PurchaseResponse(orderTrackingNumber);
     }
 
-    private String generateOrderTrackingNumber() {
-        return UUID.randomUUID().toString();
+    static void resetIdentifiers(Purchase purchase) {
+        if (purchase.getCustomer() != null) {
+            purchase.getCustomer().setId(null);
+        }
+        Order order = purchase.getOrder();
+        if (order != null) {
+            order.setId(null);
+        }
+        if (purchase.getOrderItems() != null) {
+            purchase.getOrderItems().forEach(item -> item.setId(null));
+        }
+        resetIdentifier(purchase.getBillingAddress());
+        resetIdentifier(purchase.getShippingAddress());
+    }
+
+    private static void resetIdentifier(Address address) {
+        if (address != null) {
+            address.setId(null);
+        }
     }
 }
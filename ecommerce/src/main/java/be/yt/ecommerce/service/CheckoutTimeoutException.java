@@ -0,0 +1,11 @@
+package be.yt.ecommerce.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class CheckoutTimeoutException extends RuntimeException {
+    public CheckoutTimeoutException(String message) {
+        super(message);
+    }
+}
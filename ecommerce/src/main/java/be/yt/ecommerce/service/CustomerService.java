@@ -0,0 +1,113 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.CustomerProperties;
+import be.yt.ecommerce.dao.CustomerRepository;
+import be.yt.ecommerce.entity.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Finds the customer an order belongs to by email, so returning shoppers reuse their row instead of
+ * creating a new one per order.
+ * <p>
+ * Email to id lookups are cached in a bounded map. Ids are only cached once the transaction that saw
+ * them commits, so a rolled back first order never leaves a dangling id behind. The application never
+ * deletes customers, so cached ids do not go stale.
+ * <p>
+ * Two concurrent first orders with the same email both try to insert. The unique index lets one win,
+ * and the other fails with a {@link ConcurrencyFailureException} so
+ * {@link CheckoutServiceImpl#placeOrder} retries it against the winner's row.
+ */
+@Service
+public class CustomerService {
+    private final CustomerRepository customerRepository;
+    private final Cache<String, Long> idsByEmail;
+
+    public CustomerService(CustomerRepository customerRepository, CustomerProperties properties) {
+        this.customerRepository = customerRepository;
+        this.idsByEmail = Caffeine.newBuilder()
+                .maximumSize(properties.emailCacheSize())
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Customer findOrCreate(Customer customer) {
+        String email = normalize(customer.getEmail());
+        customer.setEmail(email);
+        if (email == null) {
+            return customerRepository.save(customer);
+        }
+
+        Long id = idsByEmail.getIfPresent(email);
+        if (id == null) {
+            Optional<Long> existing = customerRepository.findIdByEmail(email);
+            if (existing.isPresent()) {
+                id = existing.get();
+                cacheAfterCommit(email, id);
+            }
+        }
+        if (id != null) {
+            return customerRepository.getReferenceById(id);
+        }
+
+        try {
+            Customer created = customerRepository.saveAndFlush(customer);
+            cacheAfterCommit(email, created.getId());
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new ConcurrencyFailureException("Customer " + email + " was created by another checkout", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Id of the customer with this email, from the cache when it was seen before.
+     */
+    public Optional<Long> findIdByEmail(String email) {
+        String normalized = normalize(email);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        Long id = idsByEmail.getIfPresent(normalized);
+        if (id != null) {
+            return Optional.of(id);
+        }
+        Optional<Long> existing = customerRepository.findIdByEmail(normalized);
+        existing.ifPresent(found -> cacheAfterCommit(normalized, found));
+        return existing;
+    }
+
+    private void cacheAfterCommit(String email, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idsByEmail.put(email, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idsByEmail.put(email, id);
+            }
+        });
+    }
+
+    private static String normalize(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
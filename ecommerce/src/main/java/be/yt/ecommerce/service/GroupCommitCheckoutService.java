@@ -0,0 +1,170 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.GroupCommitProperties;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Checkout mode that hands purchases to a bounded queue drained by a few writer threads. Each writer
+ * collects up to {@code maxBatchSize} purchases, or whatever arrived within {@code maxLinger}, and
+ * commits them in a single transaction.
+ * <p>
+ * Callers wait at most {@code responseTimeout}. A purchase still queued at that point is withdrawn and
+ * rejected; one already being written is reported as timed out, because it may still commit. Purchases
+ * left in the queue when the writers stop are rejected rather than left waiting.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "ecommerce.checkout.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitCheckoutService implements CheckoutService {
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitCheckoutService.class);
+
+    private final CheckoutBatchWriter batchWriter;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<PendingPurchase> queue;
+    private final List<Thread> writers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public GroupCommitCheckoutService(CheckoutBatchWriter batchWriter, GroupCommitProperties properties) {
+        this.batchWriter = batchWriter;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        for (int i = 0; i < properties.writerThreads(); i++) {
+            Thread writer = new Thread(this::drain, "checkout-writer-" + i);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        rejectQueued();
+    }
+
+    @Override
+    public PurchaseResponse placeOrder(Purchase purchase) {
+        PendingPurchase pending = new PendingPurchase(purchase, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pending, properties.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new CheckoutRejectedException("Checkout is overloaded, please retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckoutRejectedException("Interrupted while waiting for the checkout queue");
+        }
+
+        if (!running && queue.remove(pending)) {
+            throw new CheckoutRejectedException("Checkout is shutting down, please retry later");
+        }
+
+        try {
+            return pending.response().get(properties.responseTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new CheckoutRejectedException("Checkout is overloaded, please retry later");
+            }
+            throw new CheckoutTimeoutException("Checkout did not complete in time, the order may still be placed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(pending)) {
+                throw new CheckoutRejectedException("Interrupted while waiting for the checkout queue");
+            }
+            throw new CheckoutTimeoutException("Interrupted while the order was being placed");
+        }
+    }
+
+    private void drain() {
+        List<PendingPurchase> batch = new ArrayList<>(properties.maxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPurchase first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.maxLinger().toNanos();
+                while (batch.size() < properties.maxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPurchase next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        queue.drainTo(batch, properties.maxBatchSize() - batch.size());
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                write(batch);
+                rejectQueued();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingPurchase> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<CheckoutBatchWriter.Outcome> outcomes = batchWriter.write(batch.stream().map(PendingPurchase::purchase).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                CheckoutBatchWriter.Outcome outcome = outcomes.get(i);
+                if (outcome.isSuccess()) {
+                    batch.get(i).response().complete(outcome.response());
+                } else {
+                    batch.get(i).response().completeExceptionally(outcome.error());
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            log.error("Writing a batch of {} purchases failed", batch.size(), e);
+            batch.forEach(pending -> pending.response().completeExceptionally(e));
+        }
+    }
+
+    private void rejectQueued() {
+        List<PendingPurchase> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        if (!rejected.isEmpty()) {
+            log.warn("Rejecting {} queued purchases, the checkout writers stopped", rejected.size());
+        }
+        rejected.forEach(pending -> pending.response()
+                .completeExceptionally(new CheckoutRejectedException("Checkout is shutting down, please retry later")));
+    }
+
+    private record PendingPurchase(Purchase purchase, CompletableFuture<PurchaseResponse> response) {
+    }
+}
@@ -0,0 +1,224 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.IdempotencyProperties;
+import be.yt.ecommerce.dao.IdempotencyRecordRepository;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.entity.IdempotencyRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Deduplicates checkouts that carry the same {@code Idempotency-Key}.
+ * <p>
+ * Requests on this node share one future per key, so a retry that arrives while the first attempt is
+ * still running waits for it. Across nodes and restarts, the key is claimed in the
+ * {@code idempotency_key} table before the order is placed and completed with the tracking number
+ * afterwards, so completed keys are replayed and keys still in progress elsewhere are rejected.
+ * <p>
+ * A claim that is not completed within {@code claimTimeout}, because the node holding it died, can be
+ * taken over by a retry. Every claim stores a SHA-256 fingerprint of the purchase, and a key reused with
+ * a different purchase is rejected instead of replaying the first order.
+ * <p>
+ * A failed checkout releases its claim, so the client can retry, unless it timed out: a
+ * {@link CheckoutTimeoutException} leaves the purchase with a group-commit writer that may still commit
+ * it. That claim stays incomplete, and retries are rejected as in progress until it goes stale.
+ */
+@Service
+public class IdempotentCheckoutService {
+    private static final ObjectMapper FINGERPRINT_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    private final CheckoutService checkoutService;
+    private final IdempotencyRecordRepository recordRepository;
+    private final IdempotencyProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Cache<String, Claim> responses;
+
+    @Autowired
+    public IdempotentCheckoutService(CheckoutService checkoutService,
+                                     IdempotencyRecordRepository recordRepository,
+                                     IdempotencyProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this(checkoutService, recordRepository, properties, transactionManager, Clock.systemUTC());
+    }
+
+    IdempotentCheckoutService(CheckoutService checkoutService,
+                              IdempotencyRecordRepository recordRepository,
+                              IdempotencyProperties properties,
+                              PlatformTransactionManager transactionManager,
+                              Clock clock) {
+        this.checkoutService = checkoutService;
+        this.recordRepository = recordRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    public PurchaseResponse placeOrder(String key, Purchase purchase) {
+        String fingerprint = fingerprint(purchase);
+        Claim claim = new Claim(fingerprint, new CompletableFuture<>());
+        Claim existing = responses.asMap().putIfAbsent(key, claim);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw reused();
+            }
+            return await(existing.response());
+        }
+
+        try {
+            PurchaseResponse response = placeOrderOnce(key, fingerprint, purchase);
+            claim.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // After a timeout, retries on this node too must see the claim that was kept in the database
+            responses.asMap().remove(key, claim);
+            claim.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.checkout.idempotency.cleanup-interval:10m}")
+    public void purgeExpired() {
+        recordRepository.deleteExpired(clock.instant());
+    }
+
+    private PurchaseResponse placeOrderOnce(String key, String fingerprint, Purchase purchase) {
+        Instant now = clock.instant();
+        Optional<IdempotencyRecord> stored = recordRepository.findById(key);
+        if (stored.isPresent()) {
+            IdempotencyRecord record = stored.get();
+            if (!record.isExpired(now)) {
+                if (!record.matches(fingerprint)) {
+                    throw reused();
+                }
+                if (record.isCompleted() || !isStale(record, now)
+                        || recordRepository.takeOver(key, record.getCreatedAt(), now) == 0) {
+                    return replay(record);
+                }
+                return place(key, purchase);
+            }
+            recordRepository.delete(record);
+        }
+
+        IdempotencyRecord claim = new IdempotencyRecord(key, now, now.plus(properties.ttl()));
+        claim.setRequestHash(fingerprint);
+        try {
+            transactionTemplate.executeWithoutResult(status -> recordRepository.saveAndFlush(claim));
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyRecord record = recordRepository.findById(key)
+                    .orElseThrow(() -> new IdempotencyConflictException("Request with this idempotency key is in progress"));
+            if (!record.matches(fingerprint)) {
+                throw reused();
+            }
+            return replay(record);
+        }
+        return place(key, purchase);
+    }
+
+    private PurchaseResponse place(String key, Purchase purchase) {
+        PurchaseResponse response;
+        try {
+            response = checkoutService.placeOrder(purchase);
+        } catch (CheckoutTimeoutException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            recordRepository.deleteById(key);
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordRepository.findById(key).ifPresent(record -> {
+            record.setOrderTrackingNumber(response.orderTrackingNumber());
+            recordRepository.save(record);
+        }));
+        return response;
+    }
+
+    private boolean isStale(IdempotencyRecord record, Instant now) {
+        return record.getCreatedAt().plus(properties.claimTimeout()).isBefore(now);
+    }
+
+    private PurchaseResponse replay(IdempotencyRecord record) {
+        if (!record.isCompleted()) {
+            throw new IdempotencyConflictException("Request with this idempotency key is in progress");
+        }
+        return new PurchaseResponse(record.getOrderTrackingNumber());
+    }
+
+    private static IdempotencyKeyReusedException reused() {
+        return new IdempotencyKeyReusedException("Idempotency key was already used for a different purchase");
+    }
+
+    /**
+     * Hashes the purchase as JSON with sorted properties. Order items are a set, so array elements are
+     * sorted too, which makes the fingerprint independent of the order the client listed them in.
+     */
+    static String fingerprint(Purchase purchase) {
+        try {
+            JsonNode tree = canonical(FINGERPRINT_MAPPER.valueToTree(purchase));
+            byte[] json = FINGERPRINT_MAPPER.writeValueAsString(tree).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidOrderException("Purchase cannot be fingerprinted for idempotency");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode canonical(JsonNode node) {
+        if (node.isObject()) {
+            node.properties().forEach(field -> field.setValue(canonical(field.getValue())));
+        } else if (node.isArray()) {
+            List<JsonNode> elements = new ArrayList<>();
+            node.forEach(element -> elements.add(canonical(element)));
+            elements.sort(Comparator.comparing(JsonNode::toString));
+            ((ArrayNode) node).removeAll().addAll(elements);
+        }
+        return node;
+    }
+
+    private static PurchaseResponse await(CompletableFuture<PurchaseResponse> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Claim(String fingerprint, CompletableFuture<PurchaseResponse> response) {
+    }
+}
@@ -0,0 +1,156 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.InventoryProperties;
+import be.yt.ecommerce.dao.InventoryShardRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.InventoryShardUnits;
+import be.yt.ecommerce.entity.InventoryShard;
+import be.yt.ecommerce.entity.OrderItem;
+import be.yt.ecommerce.entity.Product;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reserves stock for order items.
+ * <p>
+ * A product's stock is split over {@code shards} rows of {@code inventory_shard}, seeded from
+ * {@link Product#getUnitsInStock()} the first time the product is ordered. A reservation is a
+ * conditional decrement of one randomly chosen shard that has enough units, so concurrent checkouts
+ * for a popular product rarely wait on the same row lock. When no single shard can cover the quantity,
+ * all shards of the product are locked, the quantity is taken from their total and the rest is spread
+ * evenly again. Two checkouts that both lose a race for a shard can deadlock on that path;
+ * {@link CheckoutServiceImpl#placeOrder} retries them.
+ * <p>
+ * Shards are created in the checkout's own transaction: opening a second one would hold a pooled
+ * connection while waiting for another, which deadlocks the pool once every connection does it.
+ * Concurrent first orders of a product collide on the primary key and the losers are retried as well.
+ * <p>
+ * From then on the shards are the source of truth; {@link #copyStockToProducts()} periodically writes
+ * their totals back to {@code product.units_in_stock} for display and bumps {@code last_updated} of the
+ * products it changes. Writing {@code units_in_stock} directly has no lasting effect once a product has
+ * shards, so received goods go through {@link #restock(Long, int)}, offered as the JMX {@code inventory}
+ * endpoint, and product imports set the shards along with the product.
+ */
+@Service
+public class InventoryService {
+    private final InventoryShardRepository shardRepository;
+    private final ProductRepository productRepository;
+    private final InventoryProperties properties;
+
+    public InventoryService(InventoryShardRepository shardRepository,
+                            ProductRepository productRepository,
+                            InventoryProperties properties) {
+        this.shardRepository = shardRepository;
+        this.productRepository = productRepository;
+        this.properties = properties;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Collection<OrderItem> items) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        // Sorted by product, so transactions that fall back to locking all shards lock them in the same order
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            if (item.getProductId() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Order item needs a product and a positive quantity");
+            }
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        quantities.forEach(this::reserve);
+    }
+
+    /**
+     * Adds received units to a product, spread evenly over its shards if it has any.
+     * <p>
+     * The product row is locked first, as in {@link #createShards(Long)}, so a concurrent first order
+     * cannot seed the shards from the stock read before this restock.
+     */
+    @Transactional
+    public void restock(Long productId, int units) {
+        if (units <= 0) {
+            throw new IllegalArgumentException("Restocked units must be positive");
+        }
+        Product product = productRepository.lockById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product " + productId + " does not exist"));
+
+        int shards = shardRepository.lockShards(productId).size();
+        if (shards == 0) {
+            product.setUnitsInStock(product.getUnitsInStock() + units);
+            return;
+        }
+        shardRepository.addUnits(productId, units / shards, units % shards);
+        product.setUnitsInStock((int) shardRepository.sumUnits(productId));
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.inventory.sync-interval:1m}")
+    public void copyStockToProducts() {
+        if (properties.enabled()) {
+            // The application clock, like @UpdateTimestamp: a database clock with coarser precision could
+            // stamp the rows below the latest last_updated, and collection validators would not move
+            shardRepository.copyStockToProducts(new Date());
+        }
+    }
+
+    private void reserve(Long productId, int quantity) {
+        // Pick the shard from a plain read instead of probing shards with updates: an update that matches
+        // nothing can keep its row locked, and holding a shard while waiting for the others invites deadlocks
+        List<InventoryShardUnits> shards = shardRepository.findUnits(productId);
+        List<InventoryShardUnits> candidates = shards.stream().filter(shard -> shard.units() >= quantity).toList();
+        if (!candidates.isEmpty()) {
+            InventoryShardUnits shard = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+            if (shardRepository.reserve(productId, shard.shard(), quantity) == 1) {
+                return;
+            }
+        } else if (!shards.isEmpty() && shards.stream().mapToLong(InventoryShardUnits::units).sum() < quantity) {
+            throw new InsufficientStockException("Not enough stock for product " + productId);
+        }
+        rebalanceAndReserve(productId, quantity);
+    }
+
+    private void rebalanceAndReserve(Long productId, int quantity) {
+        int shards = shardRepository.lockShards(productId).size();
+        if (shards == 0) {
+            createShards(productId);
+            shards = shardRepository.lockShards(productId).size();
+        }
+
+        long total = shardRepository.sumUnits(productId);
+        if (total < quantity) {
+            throw new InsufficientStockException("Not enough stock for product " + productId);
+        }
+        long remaining = total - quantity;
+        shardRepository.redistribute(productId, (int) (remaining / shards), (int) (remaining % shards));
+    }
+
+    private void createShards(Long productId) {
+        Product product = productRepository.lockById(productId)
+                .orElseThrow(() -> new InsufficientStockException("Product " + productId + " does not exist"));
+        int shards = properties.shards();
+        int units = Math.max(product.getUnitsInStock(), 0);
+
+        List<InventoryShard> rows = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            rows.add(new InventoryShard(productId, shard, units / shards + (shard < units % shards ? 1 : 0)));
+        }
+        try {
+            shardRepository.saveAllAndFlush(rows);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrencyFailureException("Inventory of product " + productId + " was created by another checkout", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.OrderAccessProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and checks the tokens that grant access to an order without an account.
+ * <p>
+ * Tracking numbers are time-ordered and therefore guessable, so they only identify an order. The status
+ * token is a truncated HMAC-SHA256 of the tracking number under {@code ecommerce.order-access.secret}:
+ * it needs no storage, and a replayed checkout gets the same token again. Without a configured secret a
+ * random one is generated at startup, so tokens stop working after a restart and on other instances.
+ * <p>
+ * Customer ids are guessable too, and checkout matches customers by an unverified email, so order history
+ * is only shown for a history token: the customer id and an expiry, {@code history-token-ttl} after it was
+ * issued, signed the same way. Checkout never hands one out: it is issued by the JMX {@code orderhistory}
+ * endpoint, for a link sent to the customer's email address.
+ */
+@Service
+public class OrderAccessTokens {
+    private static final Logger log = LoggerFactory.getLogger(OrderAccessTokens.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTES = 16;
+
+    private final SecretKeySpec key;
+    private final Duration historyTokenTtl;
+    private final Clock clock;
+
+    @Autowired
+    public OrderAccessTokens(OrderAccessProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    OrderAccessTokens(OrderAccessProperties properties, Clock clock) {
+        byte[] secret;
+        if (properties.secret().isBlank()) {
+            log.warn("No ecommerce.order-access.secret configured, order access tokens are only valid until restart");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = properties.secret().getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.historyTokenTtl = properties.historyTokenTtl();
+        this.clock = clock;
+    }
+
+    public String statusToken(String trackingNumber) {
+        return encode(sign("order-status:" + trackingNumber));
+    }
+
+    public boolean isValidStatusToken(String trackingNumber, String token) {
+        return token != null && MessageDigest.isEqual(
+                statusToken(trackingNumber).getBytes(StandardCharsets.US_ASCII),
+                token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public String historyToken(long customerId) {
+        long expires = clock.instant().plus(historyTokenTtl).getEpochSecond();
+        return customerId + "." + expires + "." + historySignature(customerId, expires);
+    }
+
+    /**
+     * @return the customer a history token was issued for, or empty when it is forged or expired
+     */
+    public Optional<Long> customerOfHistoryToken(String token) {
+        String[] parts = token == null ? new String[0] : token.split("\\.");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        long customerId;
+        long expires;
+        try {
+            customerId = Long.parseLong(parts[0]);
+            expires = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        boolean signed = MessageDigest.isEqual(
+                historySignature(customerId, expires).getBytes(StandardCharsets.US_ASCII),
+                parts[2].getBytes(StandardCharsets.US_ASCII));
+        return signed && clock.instant().getEpochSecond() < expires ? Optional.of(customerId) : Optional.empty();
+    }
+
+    private String historySignature(long customerId, long expires) {
+        return encode(sign("order-history:" + customerId + ":" + expires));
+    }
+
+    private static String encode(byte[] signature) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private byte[] sign(String message) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(message.getBytes(StandardCharsets.UTF_8)), TOKEN_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dao.OrderRepository;
+import be.yt.ecommerce.dto.OrderSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lists the orders of a customer, newest first. A page continues after the last order of the previous
+ * one instead of skipping an offset, so old pages cost as much as the first, and reads only summary
+ * columns that {@code idx_orders_customer_history} covers: items and addresses are never loaded.
+ * <p>
+ * With read replicas, history is read from a replica unless the customer ordered within the
+ * read-your-writes window.
+ */
+@Service
+public class OrderHistoryService {
+    private final OrderRepository orderRepository;
+    private final CustomerService customerService;
+    private final RecentWrites recentWrites;
+    private final TransactionTemplate replicaReads;
+    private final TransactionTemplate primaryReads;
+
+    public OrderHistoryService(OrderRepository orderRepository,
+                               CustomerService customerService,
+                               RecentWrites recentWrites,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.customerService = customerService;
+        this.recentWrites = recentWrites;
+        this.replicaReads = new TransactionTemplate(transactionManager);
+        this.replicaReads.setReadOnly(true);
+        this.primaryReads = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<Long> findCustomerId(String email) {
+        // A customer placing a first order may not have reached the replicas yet
+        return primaryReads.execute(status -> customerService.findIdByEmail(email));
+    }
+
+    /**
+     * @param before   date of the last order of the previous page, or null for the first page
+     * @param beforeId id of that order
+     */
+    public List<OrderSummary> findHistory(Long customerId, Date before, Long beforeId, int limit) {
+        TransactionTemplate reads = recentWrites.isRecent(recentWritesKey(customerId)) ? primaryReads : replicaReads;
+        return reads.execute(status -> before == null
+                ? orderRepository.findHistory(customerId, Limit.of(limit))
+                : orderRepository.findHistoryBefore(customerId, before, beforeId, Limit.of(limit)));
+    }
+
+    static String recentWritesKey(Long customerId) {
+        return "customer:" + customerId;
+    }
+}
@@ -0,0 +1,89 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.OrderStatusProperties;
+import be.yt.ecommerce.config.ReplicaProperties;
+import be.yt.ecommerce.dao.OrderRepository;
+import be.yt.ecommerce.dto.OrderStatusView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Answers order status polls from a single projection query on the tracking number index, cached for
+ * a few seconds per tracking number. Unknown tracking numbers are not cached, so an order is visible
+ * as soon as its checkout commits.
+ * <p>
+ * Status changes must go through {@link #updateStatus}, which evicts the cached view once the change
+ * has committed.
+ * <p>
+ * With read replicas, lookups run read-only and so on a replica, except for orders placed or updated
+ * within the read-your-writes window, which are read from the primary. An order a replica does not
+ * know yet, placed through another instance or older than the window but not yet replicated, is looked
+ * up on the primary as well.
+ */
+@Service
+public class OrderStatusService {
+    private final OrderRepository orderRepository;
+    private final RecentWrites recentWrites;
+    private final Cache<String, OrderStatusView> views;
+    private final TransactionTemplate replicaReads;
+    private final TransactionTemplate primaryReads;
+    private final boolean replicas;
+
+    public OrderStatusService(OrderRepository orderRepository,
+                              RecentWrites recentWrites,
+                              PlatformTransactionManager transactionManager,
+                              OrderStatusProperties properties,
+                              ReplicaProperties replicaProperties) {
+        this.orderRepository = orderRepository;
+        this.recentWrites = recentWrites;
+        this.views = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.replicaReads = new TransactionTemplate(transactionManager);
+        this.replicaReads.setReadOnly(true);
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.replicas = replicaProperties.enabled();
+    }
+
+    public OrderStatusView findByTrackingNumber(String trackingNumber) {
+        OrderStatusView view = views.get(trackingNumber, this::load);
+        if (view == null) {
+            throw new OrderNotFoundException("No order with tracking number " + trackingNumber);
+        }
+        return view;
+    }
+
+    @Transactional
+    public void updateStatus(String trackingNumber, String status) {
+        if (orderRepository.updateStatus(trackingNumber, status) == 0) {
+            throw new OrderNotFoundException("No order with tracking number " + trackingNumber);
+        }
+        recentWrites.written(trackingNumber);
+        // Evicting before commit would let a concurrent poll cache the old status again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                views.invalidate(trackingNumber);
+            }
+        });
+    }
+
+    private OrderStatusView load(String trackingNumber) {
+        if (recentWrites.isRecent(trackingNumber)) {
+            return findOn(primaryReads, trackingNumber);
+        }
+        OrderStatusView view = findOn(replicaReads, trackingNumber);
+        return view != null || !replicas ? view : findOn(primaryReads, trackingNumber);
+    }
+
+    private OrderStatusView findOn(TransactionTemplate transactionTemplate, String trackingNumber) {
+        return transactionTemplate.execute(status -> orderRepository.findStatusByTrackingNumber(trackingNumber).orElse(null));
+    }
+}
@@ -0,0 +1,10 @@
+package be.yt.ecommerce.service;
+
+/**
+ * Produces the tracking number a customer gets back for a placed order. Implementations must be
+ * thread-safe and must not repeat a number.
+ */
+public interface OrderTrackingNumberGenerator {
+
+    String next();
+}
@@ -0,0 +1,79 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.ProductPrice;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces the prices sent by the client with the catalog prices and recomputes the order totals.
+ * All prices of a cart are loaded with one {@code IN} query, split only for carts with more than
+ * {@value #MAX_IDS_PER_QUERY} distinct products.
+ */
+@Service
+public class PricingService {
+    static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final ProductRepository productRepository;
+
+    public PricingService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public void price(Purchase purchase) {
+        Set<OrderItem> items = purchase.getOrderItems();
+        if (items == null || items.isEmpty()) {
+            throw new InvalidOrderException("Order has no items");
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (OrderItem item : items) {
+            if (item.getProductId() == null || item.getQuantity() <= 0) {
+                throw new InvalidOrderException("Order item needs a product and a positive quantity");
+            }
+            productIds.add(item.getProductId());
+        }
+        Map<Long, BigDecimal> prices = loadPrices(productIds);
+
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        int totalQuantity = 0;
+        for (OrderItem item : items) {
+            BigDecimal unitPrice = prices.get(item.getProductId());
+            if (unitPrice == null) {
+                throw new InvalidOrderException("Product " + item.getProductId() + " is not for sale");
+            }
+            item.setUnitPrice(unitPrice);
+            totalPrice = totalPrice.add(unitPrice.multiply(BigDecimal.valueOf(item.getQuantity())));
+            totalQuantity += item.getQuantity();
+        }
+
+        Order order = purchase.getOrder();
+        order.setTotalPrice(totalPrice);
+        order.setTotalQuantity(totalQuantity);
+    }
+
+    private Map<Long, BigDecimal> loadPrices(Collection<Long> productIds) {
+        List<Long> ids = new ArrayList<>(productIds);
+        Map<Long, BigDecimal> prices = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_QUERY, ids.size()));
+            for (ProductPrice price : productRepository.findPrices(chunk)) {
+                if (price.unitPrice() != null) {
+                    prices.put(price.id(), price.unitPrice());
+                }
+            }
+        }
+        return prices;
+    }
+}
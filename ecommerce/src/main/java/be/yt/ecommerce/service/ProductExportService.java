@@ -0,0 +1,111 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.ProductExport;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the catalog, or the part of it matching the filters, to an output stream one row at a time.
+ * Rows come from a forward-only cursor and are written as soon as they are read, so memory use does not
+ * grow with the catalog. With MySQL the fetch size is only honoured with {@code useCursorFetch=true}.
+ */
+@Service
+public class ProductExportService {
+    private static final String CSV_HEADER = "id,sku,name,description,unitPrice,imageUrl,active,unitsInStock,"
+            + "categoryId,dateCreated,lastUpdated";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(ProductExport.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Leaves {@code out} open.
+     *
+     * @return the number of products written
+     */
+    @Transactional(readOnly = true)
+    public long export(Long categoryId, Date updatedSince, ProductFileFormat format, OutputStream out)
+            throws IOException {
+        try (Stream<ProductExport> products = productRepository.streamExport(categoryId, updatedSince)) {
+            return switch (format) {
+                case NDJSON -> writeNdjson(products.iterator(), out);
+                case CSV -> writeCsv(products.iterator(), out);
+            };
+        }
+    }
+
+    private long writeNdjson(Iterator<ProductExport> products, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        while (products.hasNext()) {
+            rowWriter.writeValue(generator, products.next());
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Iterator<ProductExport> products, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (products.hasNext()) {
+            ProductExport product = products.next();
+            writer.write(String.valueOf(product.id()));
+            writeCsvField(writer, product.sku());
+            writeCsvField(writer, product.name());
+            writeCsvField(writer, product.description());
+            writeCsvField(writer, product.unitPrice() != null ? product.unitPrice().toPlainString() : null);
+            writeCsvField(writer, product.imageUrl());
+            writeCsvField(writer, String.valueOf(product.active()));
+            writeCsvField(writer, String.valueOf(product.unitsInStock()));
+            writeCsvField(writer, String.valueOf(product.categoryId()));
+            writeCsvField(writer, product.dateCreated() != null ? product.dateCreated().toInstant().toString() : null);
+            writeCsvField(writer, product.lastUpdated() != null ? product.lastUpdated().toInstant().toString() : null);
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
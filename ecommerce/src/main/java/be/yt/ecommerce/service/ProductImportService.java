@@ -0,0 +1,428 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.ProductImportProperties;
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductImportRepository;
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.dto.ProductImportReport;
+import be.yt.ecommerce.dto.ProductImportRow;
+import be.yt.ecommerce.entity.ProductCategory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Upserts products by sku from a CSV or NDJSON file.
+ * <p>
+ * The calling thread only splits the file into chunks of raw records; a pool of {@code parallelism}
+ * workers parses each chunk, resolves its categories and writes it in its own transaction with one JDBC
+ * batch of inserts and one of updates. At most twice that many chunks are in memory at a time, so files
+ * of any size can be imported. Categories are resolved by name through a map loaded once per import;
+ * missing ones are created on first use, in a transaction of their own so a failed chunk cannot take a
+ * category other chunks already refer to with it.
+ * <p>
+ * The same sku in two chunks written at once makes one of them fail on the unique sku index; that chunk
+ * is retried and then updates the row the other inserted. Rows that cannot be parsed are rejected and
+ * reported, the rest of the file is still imported. Stock imported for products that already have
+ * inventory shards replaces the stock held by their shards.
+ */
+@Service
+public class ProductImportService {
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_ERRORS = 100;
+
+    private final ProductImportRepository importRepository;
+    private final ProductCategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final CatalogCacheInvalidator cacheInvalidator;
+    private final ProductImportProperties properties;
+
+    public ProductImportService(ProductImportRepository importRepository,
+                                ProductCategoryRepository categoryRepository,
+                                CatalogCacheInvalidator cacheInvalidator,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                ProductImportProperties properties) {
+        this.importRepository = importRepository;
+        this.categoryRepository = categoryRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+        this.properties = properties;
+    }
+
+    public ProductImportReport importProducts(InputStream in, ProductFileFormat format) throws IOException {
+        return importProducts(in, format, report -> {
+        });
+    }
+
+    /**
+     * Leaves {@code in} open.
+     *
+     * @param progress called every {@code progressRows} rows, from the worker that crossed the mark
+     */
+    public ProductImportReport importProducts(InputStream in, ProductFileFormat format,
+                                              Consumer<ProductImportReport> progress) throws IOException {
+        ImportRun run = new ImportRun(progress);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        Semaphore inFlight = new Semaphore(properties.parallelism() * 2);
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(properties.parallelism())) {
+            Map<String, Integer> columns = format == ProductFileFormat.CSV ? readCsvHeader(reader) : null;
+            List<Record> chunk = new ArrayList<>(properties.chunkSize());
+            Record record;
+            int line = columns != null ? 2 : 1;
+            while ((record = readRecord(reader, format, line)) != null) {
+                line = record.nextLine();
+                if (record.text().isBlank()) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == properties.chunkSize()) {
+                    submit(workers, inFlight, run, columns, chunk);
+                    chunk = new ArrayList<>(properties.chunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(workers, inFlight, run, columns, chunk);
+            }
+        } finally {
+            // Products are written with plain JDBC, behind the back of the second-level cache
+            cacheInvalidator.productsChanged();
+        }
+
+        ProductImportReport report = run.report();
+        log.info("Imported {} products: {} inserted, {} updated, {} rejected in {} ms", report.rows(),
+                report.inserted(), report.updated(), report.rejected(), report.elapsedMillis());
+        return report;
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, ImportRun run, Map<String, Integer> columns,
+                        List<Record> chunk) {
+        inFlight.acquireUninterruptibly();
+        workers.execute(() -> {
+            try {
+                importChunk(run, columns, chunk);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void importChunk(ImportRun run, Map<String, Integer> columns, List<Record> records) {
+        // Keyed by sku so a sku repeated within the chunk is written once, with its last row
+        Map<String, ProductImportRow> rows = new LinkedHashMap<>();
+        for (Record record : records) {
+            try {
+                ProductImportRow row = run.resolveCategory(parse(record, columns));
+                rows.put(row.sku(), row);
+            } catch (RuntimeException e) {
+                run.reject(record.line(), e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            run.chunkDone(records.size(), 0, 0);
+            return;
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ProductImportRepository.UpsertCount count = transactionTemplate.execute(status ->
+                        importRepository.upsert(rows.values(), new Timestamp(System.currentTimeMillis())));
+                run.chunkDone(records.size(), count.inserted(), count.updated());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    run.rejectChunk(records, rows.size(), e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                run.rejectChunk(records, rows.size(), e);
+                return;
+            }
+        }
+    }
+
+    private ProductImportRow parse(Record record, Map<String, Integer> columns) {
+        ProductImportRow row;
+        if (columns == null) {
+            try {
+                row = rowReader.readValue(record.text());
+            } catch (JsonProcessingException e) {
+                throw new InvalidProductFileException("invalid JSON: " + e.getOriginalMessage());
+            }
+        } else {
+            List<String> fields = parseCsvRecord(record.text());
+            row = new ProductImportRow(
+                    field(fields, columns, "sku"),
+                    field(fields, columns, "name"),
+                    field(fields, columns, "description"),
+                    decimalField(fields, columns, "unitPrice"),
+                    field(fields, columns, "imageUrl"),
+                    booleanField(fields, columns, "active"),
+                    integerField(fields, columns, "unitsInStock"),
+                    longField(fields, columns, "categoryId"),
+                    field(fields, columns, "categoryName"));
+        }
+        if (row.sku() == null || row.sku().isBlank()) {
+            throw new InvalidProductFileException("sku is required");
+        }
+        if (row.categoryId() == null && (row.categoryName() == null || row.categoryName().isBlank())) {
+            throw new InvalidProductFileException("categoryName or categoryId is required");
+        }
+        return row;
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidProductFileException("CSV file has no header");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvRecord(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("sku")) {
+            throw new InvalidProductFileException("CSV header has no sku column");
+        }
+        return columns;
+    }
+
+    /**
+     * Reads the next record: a line, or for CSV as many lines as it takes to close a quoted field.
+     */
+    private static Record readRecord(BufferedReader reader, ProductFileFormat format, int line) throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        int lines = 1;
+        if (format == ProductFileFormat.CSV) {
+            StringBuilder record = null;
+            while (count(text, '"') % 2 != 0) {
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                if (record == null) {
+                    record = new StringBuilder(text);
+                }
+                record.append('\n').append(next);
+                text = record.toString();
+                lines++;
+            }
+        }
+        return new Record(text, line, line + lines);
+    }
+
+    private static List<String> parseCsvRecord(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r' || i != text.length() - 1) {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static BigDecimal decimalField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        try {
+            return value != null ? new BigDecimal(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidProductFileException(name + " is not a number: " + value);
+        }
+    }
+
+    private static Integer integerField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        try {
+            return value != null ? Integer.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidProductFileException(name + " is not a whole number: " + value);
+        }
+    }
+
+    private static Long longField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        try {
+            return value != null ? Long.valueOf(value.trim()) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidProductFileException(name + " is not a whole number: " + value);
+        }
+    }
+
+    private static Boolean booleanField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new InvalidProductFileException(name + " is not a boolean: " + value);
+        };
+    }
+
+    private static int count(String text, char c) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private record Record(String text, int line, int nextLine) {
+    }
+
+    /**
+     * State of one import, shared by its workers.
+     */
+    private class ImportRun {
+        private final long start = System.nanoTime();
+        private final Consumer<ProductImportReport> progress;
+        private final Map<String, Long> categoryIdsByName = new ConcurrentHashMap<>();
+        private final Map<Long, Boolean> categoryIds = new ConcurrentHashMap<>();
+        private final ReentrantLock categoryLock = new ReentrantLock();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong categoriesCreated = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        ImportRun(Consumer<ProductImportReport> progress) {
+            this.progress = progress;
+            for (CategoryListing category : categoryRepository.findListings()) {
+                categoryIdsByName.putIfAbsent(category.categoryName(), category.id());
+                categoryIds.put(category.id(), true);
+            }
+        }
+
+        ProductImportRow resolveCategory(ProductImportRow row) {
+            if (row.categoryName() == null || row.categoryName().isBlank()) {
+                if (!categoryIds.containsKey(row.categoryId())) {
+                    throw new InvalidProductFileException("category " + row.categoryId() + " does not exist");
+                }
+                return row;
+            }
+            String name = row.categoryName().trim();
+            Long id = categoryIdsByName.get(name);
+            return row.withCategoryId(id != null ? id : createCategory(name));
+        }
+
+        private Long createCategory(String name) {
+            categoryLock.lock();
+            try {
+                Long id = categoryIdsByName.get(name);
+                if (id == null) {
+                    ProductCategory category = new ProductCategory();
+                    category.setCategoryName(name);
+                    id = transactionTemplate.execute(status -> categoryRepository.save(category).getId());
+                    categoryIdsByName.put(name, id);
+                    categoryIds.put(id, true);
+                    categoriesCreated.incrementAndGet();
+                }
+                return id;
+            } finally {
+                categoryLock.unlock();
+            }
+        }
+
+        void reject(int line, String message) {
+            rejected.incrementAndGet();
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("line " + line + ": " + message);
+            }
+        }
+
+        void rejectChunk(List<Record> records, int rejectedRows, RuntimeException e) {
+            log.warn("Import of lines {} to {} failed", records.get(0).line(), records.get(records.size() - 1).line(), e);
+            rejected.addAndGet(rejectedRows);
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("lines " + records.get(0).line() + " to " + records.get(records.size() - 1).line()
+                        + ": " + e.getMessage());
+            }
+            chunkDone(records.size(), 0, 0);
+        }
+
+        void chunkDone(int chunkRows, int insertedRows, int updatedRows) {
+            inserted.addAndGet(insertedRows);
+            updated.addAndGet(updatedRows);
+            long done = rows.addAndGet(chunkRows);
+            int every = properties.progressRows();
+            if (every > 0 && done / every != (done - chunkRows) / every) {
+                ProductImportReport report = report();
+                log.info("Imported {} products so far", report.rows());
+                progress.accept(report);
+            }
+        }
+
+        ProductImportReport report() {
+            return new ProductImportReport(rows.get(), inserted.get(), updated.get(), rejected.get(),
+                    categoriesCreated.get(), (System.nanoTime() - start) / 1_000_000, List.copyOf(errors));
+        }
+    }
+}
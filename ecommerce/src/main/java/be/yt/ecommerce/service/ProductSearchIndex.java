@@ -0,0 +1,343 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.ProductSearchDocument;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over product names and descriptions.
+ * <p>
+ * Every indexed product gets an append-only slot. Updates tombstone the old slot and append a new one,
+ * and the whole index is compacted once tombstones outnumber live documents.
+ */
+public class ProductSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsByProductId = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private long[] productIds = new long[MIN_COMPACTION_SLOTS];
+    private String[] names = new String[MIN_COMPACTION_SLOTS];
+    private String[] descriptions = new String[MIN_COMPACTION_SLOTS];
+    private int slotCount;
+    private int liveCount;
+
+    public boolean upsert(ProductSearchDocument document) {
+        String name = normalize(document.name());
+        String description = normalize(document.description());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsByProductId.get(document.id());
+            if (existing != null) {
+                if (names[existing].equals(name) && descriptions[existing].equals(description)) {
+                    return false;
+                }
+                tombstone(existing);
+            }
+            append(document.id(), name, description);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByProductId.remove(productId);
+            if (slot != null) {
+                tombstone(slot);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of all live products, in ascending order.
+     */
+    public long[] productIds() {
+        lock.readLock().lock();
+        try {
+            return slotsByProductId.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int page, int size) {
+        String term = normalize(query).strip();
+        if (term.isEmpty() || size <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+        int limit = (int) Math.min(Integer.MAX_VALUE - 8, ((long) page + 1) * size);
+
+        lock.readLock().lock();
+        try {
+            TopRanks best = new TopRanks(limit);
+            long total = 0;
+            int[] candidates = term.length() < GRAM_LENGTH ? null : candidates(term);
+            int count = candidates == null ? slotCount : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int slot = candidates == null ? i : candidates[i];
+                if (!live.get(slot)) {
+                    continue;
+                }
+                int score = score(slot, term);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                best.offer(rank(score, names[slot].length(), slot));
+            }
+
+            long[] ranks = best.sortedDescending();
+            int from = (int) Math.min(ranks.length, (long) page * size);
+            List<Long> ids = new ArrayList<>(ranks.length - from);
+            for (int i = from; i < ranks.length; i++) {
+                ids.add(productIds[slotOf(ranks[i])]);
+            }
+            return new SearchResult(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String term) {
+        long[] grams = grams(term);
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        int[] result = Arrays.copyOf(lists[0].slots, lists[0].size);
+        int length = result.length;
+        for (int i = 1; i < lists.length && length > 0; i++) {
+            length = intersect(result, length, lists[i]);
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private int score(int slot, String term) {
+        String name = names[slot];
+        int index = name.indexOf(term);
+        if (index == 0) {
+            return 4;
+        }
+        if (index > 0) {
+            return Character.isLetterOrDigit(name.charAt(index - 1)) ? 2 : 3;
+        }
+        return descriptions[slot].contains(term) ? 1 : 0;
+    }
+
+    private void append(long productId, String name, String description) {
+        if (slotCount == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int slot = slotCount++;
+        productIds[slot] = productId;
+        names[slot] = name;
+        descriptions[slot] = description;
+        live.set(slot);
+        liveCount++;
+        slotsByProductId.put(productId, slot);
+
+        for (long gram : grams(name + '\n' + description)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(slot);
+        }
+    }
+
+    private void tombstone(int slot) {
+        live.clear(slot);
+        liveCount--;
+        names[slot] = "";
+        descriptions[slot] = "";
+    }
+
+    private void compactIfNeeded() {
+        int dead = slotCount - liveCount;
+        if (slotCount < MIN_COMPACTION_SLOTS || dead <= liveCount) {
+            return;
+        }
+
+        long[] oldIds = productIds;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        BitSet oldLive = (BitSet) live.clone();
+
+        int capacity = Math.max(MIN_COMPACTION_SLOTS, liveCount * 2);
+        productIds = new long[capacity];
+        names = new String[capacity];
+        descriptions = new String[capacity];
+        slotsByProductId.clear();
+        postings.clear();
+        live.clear();
+        slotCount = 0;
+        liveCount = 0;
+
+        for (int slot = oldLive.nextSetBit(0); slot >= 0; slot = oldLive.nextSetBit(slot + 1)) {
+            append(oldIds[slot], oldNames[slot], oldDescriptions[slot]);
+        }
+    }
+
+    private static int intersect(int[] target, int length, PostingList other) {
+        int i = 0;
+        int j = 0;
+        int out = 0;
+        while (i < length && j < other.size) {
+            int a = target[i];
+            int b = other.slots[j];
+            if (a == b) {
+                target[out++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Packs score, name length and slot into one sortable long: higher score first, then shorter names,
+     * then older slots.
+     */
+    private static long rank(int score, int nameLength, int slot) {
+        return ((long) score << 47) | ((long) (0xFFFF - Math.min(nameLength, 0xFFFF)) << 31) | (Integer.MAX_VALUE - slot);
+    }
+
+    private static int slotOf(long rank) {
+        return Integer.MAX_VALUE - (int) (rank & Integer.MAX_VALUE);
+    }
+
+    public record SearchResult(List<Long> productIds, long total) {
+    }
+
+    private static final class TopRanks {
+        private final int capacity;
+        private long[] heap = new long[16];
+        private int size;
+
+        TopRanks(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(long rank) {
+            if (size < capacity) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, Math.min(capacity, size * 2));
+                }
+                heap[size] = rank;
+                siftUp(size++);
+            } else if (rank > heap[0]) {
+                heap[0] = rank;
+                siftDown(0);
+            }
+        }
+
+        long[] sortedDescending() {
+            long[] ranks = Arrays.copyOf(heap, size);
+            Arrays.sort(ranks);
+            for (int i = 0, j = ranks.length - 1; i < j; i++, j--) {
+                long tmp = ranks[i];
+                ranks[i] = ranks[j];
+                ranks[j] = tmp;
+            }
+            return ranks;
+        }
+
+        private void siftUp(int index) {
+            long value = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = value;
+        }
+
+        private void siftDown(int index) {
+            long value = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (value <= heap[child]) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = value;
+        }
+    }
+
+    private static final class PostingList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
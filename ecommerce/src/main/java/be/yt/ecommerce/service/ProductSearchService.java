@@ -0,0 +1,176 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.ProductSearchProperties;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.dto.ProductSearchDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@ConditionalOnProperty(prefix = "ecommerce.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSearchService {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private final ProductRepository productRepository;
+    private final ProductSearchProperties properties;
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    // Not synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile boolean ready;
+    private Date watermark = new Date(0);
+
+    public ProductSearchService(ProductRepository productRepository, ProductSearchProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+    }
+
+    public Page<ProductListing> search(String name, Pageable pageable) {
+        if (!ready) {
+            return productRepository.findListingsByNameContaining(name, pageable);
+        }
+
+        ProductSearchIndex.SearchResult result = index.search(name, pageable.getPageNumber(), pageable.getPageSize());
+        Map<Long, ProductListing> productsById = productRepository.findListingsByIdIn(result.productIds()).stream()
+                .collect(Collectors.toMap(ProductListing::id, Function.identity()));
+        List<ProductListing> content = result.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.search.refresh-interval:5s}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            refreshIndex();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Removes products that were deleted from the database. Incremental refreshes only see rows that still
+     * exist, so deletes are found by walking the indexed ids alongside the product ids in id order.
+     */
+    @Scheduled(fixedDelayString = "${ecommerce.search.reconcile-interval:10m}",
+            initialDelayString = "${ecommerce.search.reconcile-interval:10m}")
+    public void reconcile() {
+        refreshLock.lock();
+        try {
+            if (ready) {
+                removeDeleted();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refreshIndex() {
+        if (!ready) {
+            loadAll();
+            ready = true;
+            return;
+        }
+
+        Date since = new Date(watermark.getTime() - properties.refreshOverlap().toMillis());
+        Long afterId = 0L;
+        int changed = 0;
+        List<ProductSearchDocument> chunk;
+        do {
+            chunk = productRepository.findSearchDocumentsUpdatedSince(since, afterId, Limit.of(properties.batchSize()));
+            for (ProductSearchDocument document : chunk) {
+                if (index.upsert(document)) {
+                    changed++;
+                }
+                advanceWatermark(document);
+            }
+            if (!chunk.isEmpty()) {
+                ProductSearchDocument last = chunk.get(chunk.size() - 1);
+                since = last.dateUpdated();
+                afterId = last.id();
+            }
+        } while (chunk.size() == properties.batchSize());
+
+        if (changed > 0) {
+            log.debug("Re-indexed {} changed products", changed);
+        }
+    }
+
+    private void loadAll() {
+        long start = System.nanoTime();
+        Long afterId = 0L;
+        List<ProductSearchDocument> chunk;
+        do {
+            chunk = productRepository.findSearchDocuments(afterId, Limit.of(properties.batchSize()));
+            for (ProductSearchDocument document : chunk) {
+                index.upsert(document);
+                advanceWatermark(document);
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == properties.batchSize());
+
+        log.info("Indexed {} products for search in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void removeDeleted() {
+        long[] indexed = index.productIds();
+        int next = 0;
+        int removed = 0;
+        Long afterId = 0L;
+        List<Long> chunk;
+        do {
+            chunk = productRepository.findIdsAfter(afterId, Limit.of(properties.batchSize()));
+            for (Long id : chunk) {
+                while (next < indexed.length && indexed[next] < id) {
+                    index.remove(indexed[next++]);
+                    removed++;
+                }
+                if (next < indexed.length && indexed[next] == id) {
+                    next++;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == properties.batchSize());
+
+        while (next < indexed.length) {
+            index.remove(indexed[next++]);
+            removed++;
+        }
+        if (removed > 0) {
+            log.info("Removed {} deleted products from the search index", removed);
+        }
+    }
+
+    private void advanceWatermark(ProductSearchDocument document) {
+        if (document.dateUpdated() != null && document.dateUpdated().after(watermark)) {
+            watermark = new Date(document.dateUpdated().getTime());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package be.yt.ecommerce.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * The original 36 character random tracking numbers, for deployments that rely on their format.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ecommerce.checkout", name = "tracking-number", havingValue = "uuid")
+public class RandomUuidTrackingNumberGenerator implements OrderTrackingNumberGenerator {
+
+    @Override
+    public String next() {
+        return UUID.randomUUID().toString();
+    }
+}
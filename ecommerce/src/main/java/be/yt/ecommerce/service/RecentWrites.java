@@ -0,0 +1,43 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.ReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers for {@code ecommerce.replicas.read-your-writes-window} which keys were written, so reads of
+ * them can go to the primary until the replicas have caught up.
+ */
+@Component
+public class RecentWrites {
+    private final Cache<String, Boolean> keys;
+
+    public RecentWrites(ReplicaProperties properties) {
+        this.keys = Caffeine.newBuilder()
+                .expireAfterWrite(properties.readYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Starts the window when the current transaction commits, or right away outside a transaction.
+     */
+    public void written(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.put(key, Boolean.TRUE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                keys.put(key, Boolean.TRUE);
+            }
+        });
+    }
+
+    public boolean isRecent(String key) {
+        return keys.getIfPresent(key) != null;
+    }
+}
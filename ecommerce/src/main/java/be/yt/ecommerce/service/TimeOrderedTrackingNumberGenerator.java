@@ -0,0 +1,46 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.entity.TimeOrderedIds;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes a {@link TimeOrderedIds} value as 13 characters of Crockford base32. The encoding is fixed
+ * width and its alphabet is in ASCII order, so later numbers sort after earlier ones and new rows land
+ * at the right edge of the index on {@code orders.order_tracking_number} instead of splitting random
+ * pages. Generation is lock-free and does not touch a shared {@code SecureRandom}.
+ * <p>
+ * The numbers reveal when and on which node an order was placed and are easy to guess, so they must
+ * not be treated as secrets.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ecommerce.checkout", name = "tracking-number", havingValue = "time-ordered",
+        matchIfMissing = true)
+public class TimeOrderedTrackingNumberGenerator implements OrderTrackingNumberGenerator {
+    static final int LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final TimeOrderedIds ids;
+
+    public TimeOrderedTrackingNumberGenerator() {
+        this(TimeOrderedIds.getDefault());
+    }
+
+    TimeOrderedTrackingNumberGenerator(TimeOrderedIds ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public String next() {
+        return encode(ids.next());
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,38 @@
+package be.yt.ecommerce;
+
+import be.yt.ecommerce.config.QueryStats;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of SQL statements a piece of code runs, so an accidental N+1 query fails a test.
+ * Needs the data source proxy from {@link be.yt.ecommerce.config.QueryInstrumentationConfig}, which
+ * {@code @SpringBootTest} picks up and slice tests have to {@code @Import}.
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    public static void assertStatements(long expected, Runnable action) {
+        QueryStats stats = QueryStats.capture(action);
+        assertEquals(expected, stats.statements(), () -> "unexpected number of SQL statements: " + stats);
+    }
+
+    public static <T> T assertStatements(long expected, Supplier<T> action) {
+        QueryStats.Captured<T> captured = QueryStats.capture(action);
+        assertEquals(expected, captured.stats().statements(),
+                () -> "unexpected number of SQL statements: " + captured.stats());
+        return captured.result();
+    }
+
+    public static <T> T assertAtMostStatements(long budget, Supplier<T> action) {
+        QueryStats.Captured<T> captured = QueryStats.capture(action);
+        assertTrue(captured.stats().statements() <= budget,
+                () -> "more SQL statements than the budget of " + budget + ": " + captured.stats());
+        return captured.result();
+    }
+}
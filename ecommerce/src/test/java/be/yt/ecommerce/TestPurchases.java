@@ -0,0 +1,70 @@
+package be.yt.ecommerce;
+
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.Address;
+import be.yt.ecommerce.entity.Customer;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Products and purchases for tests that place real orders. Purchases are left unpriced, checkout prices
+ * them, and each gets a customer with an email of its own unless the test names one.
+ */
+public final class TestPurchases {
+    private static final AtomicInteger customers = new AtomicInteger();
+
+    private TestPurchases() {
+    }
+
+    public static Long createCategory(JdbcTemplate jdbcTemplate, String name) {
+        jdbcTemplate.update("insert into product_category (category_name) values (?)", name);
+        return jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+    }
+
+    public static Long createProduct(JdbcTemplate jdbcTemplate, Long categoryId, String name, String unitPrice,
+                                     int unitsInStock) {
+        jdbcTemplate.update("insert into product (category_id, name, unit_price, active, units_in_stock) "
+                + "values (?, ?, ?, true, ?)", categoryId, name, new BigDecimal(unitPrice), unitsInStock);
+        return jdbcTemplate.queryForObject("select max(id) from product", Long.class);
+    }
+
+    public static Purchase purchase(OrderItem... items) {
+        return purchase("customer" + customers.incrementAndGet() + "@example.com", items);
+    }
+
+    public static Purchase purchase(String email, OrderItem... items) {
+        Customer customer = new Customer();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail(email);
+
+        Purchase purchase = new Purchase();
+        purchase.setCustomer(customer);
+        purchase.setOrder(new Order());
+        purchase.setOrderItems(Set.of(items));
+        purchase.setBillingAddress(address());
+        purchase.setShippingAddress(address());
+        return purchase;
+    }
+
+    public static OrderItem item(Long productId, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    public static Address address() {
+        Address address = new Address();
+        address.setStreet("1 Main St");
+        address.setCity("Ghent");
+        address.setCountry("Belgium");
+        address.setZipCode("9000");
+        return address;
+    }
+}
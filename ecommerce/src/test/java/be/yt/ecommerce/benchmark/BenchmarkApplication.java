@@ -0,0 +1,55 @@
+package be.yt.ecommerce.benchmark;
+
+import be.yt.ecommerce.EcommerceApplication;
+import be.yt.ecommerce.service.CatalogService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on its own H2 database inside a JMH fork and seeds a catalog.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, WebApplicationType webApplicationType, String... args) {
+        // Arguments rather than default properties, which application.properties would override
+        String[] defaults = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--ecommerce.search.enabled=false",
+                "--logging.level.root=warn"
+        };
+        return new SpringApplicationBuilder(EcommerceApplication.class)
+                .web(webApplicationType)
+                .run(Stream.concat(Stream.of(defaults), Stream.of(args)).toArray(String[]::new));
+    }
+
+    static List<Long> seedProducts(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into product_category (category_name) values ('Benchmark')");
+        Long categoryId = jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{categoryId, "BENCH-" + categoryId + "-" + i, "Benchmark product " + i});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into product (category_id, sku, name, description, unit_price, image_url, active,
+                    units_in_stock, date_created, last_updated)
+                values (?, ?, ?, 'Generated for benchmarks', 9.99, 'assets/images/products/placeholder.png', true,
+                    1000000000, current_timestamp, current_timestamp)""", rows);
+        // Does nothing unless the benchmark enabled the catalog snapshot
+        context.getBean(CatalogService.class).refresh();
+        return jdbcTemplate.queryForList("select id from product where category_id = ? order by id", Long.class,
+                categoryId);
+    }
+}
@@ -0,0 +1,102 @@
+package be.yt.ecommerce.benchmark;
+
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.entity.Address;
+import be.yt.ecommerce.entity.Customer;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import be.yt.ecommerce.service.CheckoutService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places orders through {@link CheckoutService} against H2: pricing, stock reservation, customer lookup
+ * and the inserts, in one transaction per order. Customers come back from a fixed pool so most orders
+ * hit the email cache, as returning shoppers do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutBenchmark {
+    private static final int PRODUCTS = 200;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"1", "10"})
+    private int cartSize;
+
+    private ConfigurableApplicationContext context;
+    private CheckoutService checkoutService;
+    private List<Long> productIds;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("checkout-benchmark", WebApplicationType.NONE);
+        checkoutService = context.getBean(CheckoutService.class);
+        productIds = BenchmarkApplication.seedProducts(context, PRODUCTS);
+        // Create every product's inventory shards up front instead of in the measured orders
+        for (int first = 0; first < PRODUCTS; first += 10) {
+            checkoutService.placeOrder(createPurchase(first, 10));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PurchaseResponse placeOrder() {
+        int first = ThreadLocalRandom.current().nextInt(PRODUCTS - cartSize);
+        return checkoutService.placeOrder(createPurchase(first, cartSize));
+    }
+
+    private Purchase createPurchase(int first, int size) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        Customer customer = new Customer();
+        customer.setFirstName("Susan");
+        customer.setLastName("Smith");
+        customer.setEmail("customer" + random.nextInt(CUSTOMERS) + "@example.com");
+
+        Set<OrderItem> items = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            OrderItem item = new OrderItem();
+            item.setProductId(productIds.get(first + i));
+            item.setQuantity(1);
+            items.add(item);
+        }
+
+        Purchase purchase = new Purchase();
+        purchase.setCustomer(customer);
+        purchase.setOrder(new Order());
+        purchase.setOrderItems(items);
+        purchase.setShippingAddress(createAddress());
+        purchase.setBillingAddress(createAddress());
+        return purchase;
+    }
+
+    private static Address createAddress() {
+        Address address = new Address();
+        address.setStreet("1 Main St");
+        address.setCity("Ghent");
+        address.setCountry("Belgium");
+        address.setZipCode("9000");
+        return address;
+    }
+}
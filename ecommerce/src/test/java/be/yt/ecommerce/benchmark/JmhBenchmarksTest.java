@@ -0,0 +1,133 @@
+package be.yt.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks and stores their results as {@code benchmarks/results/<commit>.json}, then
+ * prints how each score moved against {@code -Dbenchmark.baseline=<file>} or, by default, the most
+ * recent earlier result file.
+ * <p>
+ * {@code mvn test -Pbenchmark -Dtest=JmhBenchmarksTest -Dbenchmark.include=Checkout}
+ */
+@Tag("benchmark")
+class JmhBenchmarksTest {
+
+    private static final Path RESULTS = Path.of("benchmarks", "results");
+    private static final String INCLUDE = System.getProperty("benchmark.include", "be\\.yt\\.ecommerce\\..*Benchmark\\.");
+
+    @Test
+    void run_ShouldStoreResultsForComparison() throws Exception {
+        // Arrange
+        Files.createDirectories(RESULTS);
+        Path result = RESULTS.resolve(commit() + ".json");
+        Optional<Path> baseline = baseline(result);
+        Options options = new OptionsBuilder()
+                .include(INCLUDE)
+                .forks(Integer.getInteger("benchmark.forks", 1))
+                .warmupIterations(Integer.getInteger("benchmark.warmupIterations", 5))
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(Integer.getInteger("benchmark.iterations", 5))
+                .measurementTime(TimeValue.seconds(2))
+                .result(result.toString())
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+
+        // Act
+        Collection<RunResult> results = new Runner(options).run();
+
+        // Assert
+        assertFalse(results.isEmpty(), "no benchmark matched " + INCLUDE);
+        if (baseline.isPresent()) {
+            compare(baseline.get(), result);
+        }
+    }
+
+    private static Optional<Path> baseline(Path result) throws IOException {
+        String configured = System.getProperty("benchmark.baseline");
+        if (configured != null) {
+            return Optional.of(Path.of(configured));
+        }
+        try (Stream<Path> files = Files.list(RESULTS)) {
+            return files.filter(file -> file.toString().endsWith(".json") && !file.equals(result))
+                    .max(Comparator.comparingLong(file -> file.toFile().lastModified()));
+        }
+    }
+
+    private static void compare(Path baseline, Path current) throws IOException {
+        Map<String, JsonNode> before = scores(baseline);
+        Map<String, JsonNode> after = scores(current);
+        System.out.printf("%nCompared with %s%n", baseline.getFileName());
+        System.out.printf("%-70s %12s %12s %9s%n", "benchmark", "before", "after", "change");
+        after.forEach((name, metric) -> {
+            double score = metric.get("score").asDouble();
+            String unit = metric.get("scoreUnit").asText();
+            JsonNode previous = before.get(name);
+            if (previous == null) {
+                System.out.printf("%-70s %12s %12.3f %9s  %s%n", name, "-", score, "new", unit);
+                return;
+            }
+            double old = previous.get("score").asDouble();
+            System.out.printf("%-70s %12.3f %12.3f %+8.1f%%  %s%n", name, old, score, (score - old) * 100 / old, unit);
+        });
+    }
+
+    private static Map<String, JsonNode> scores(Path file) throws IOException {
+        Map<String, JsonNode> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText().replace("be.yt.ecommerce.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.properties().forEach(param -> name.append(' ').append(param.getKey()).append('=')
+                        .append(param.getValue().asText()));
+            }
+            scores.put(name.toString(), run.get("primaryMetric"));
+        }
+        return scores;
+    }
+
+    private static String commit() {
+        try {
+            String commit = git("rev-parse", "--short", "HEAD");
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? commit : commit + "-dirty";
+        } catch (IOException e) {
+            return "local";
+        }
+    }
+
+    private static String git(String... args) throws IOException {
+        String[] command = Stream.concat(Stream.of("git"), Stream.of(args)).toArray(String[]::new);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,105 @@
+package be.yt.ecommerce.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load: each client sends a request picked from the mix, waits for the response and sends
+ * the next one. Requests completed during the warmup are not recorded. Latency is recorded per scenario
+ * in microseconds; responses other than 2xx and failed requests count as errors.
+ */
+class LoadGenerator {
+    private final HttpClient http;
+    private final List<LoadScenario> scenarios;
+    private final int totalWeight;
+
+    LoadGenerator(HttpClient http, List<LoadScenario> scenarios) {
+        this.http = http;
+        this.scenarios = scenarios;
+        this.totalWeight = scenarios.stream().mapToInt(LoadScenario::weight).sum();
+    }
+
+    LoadReport run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        List<Recorder> recorders = new ArrayList<>();
+        List<LongAdder> errors = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            recorders.add(new Recorder(3));
+            errors.add(new LongAdder());
+        }
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        Instant startedAt = Instant.now().plus(warmup);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                running.add(clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        int scenario = pick();
+                        boolean ok = send(scenarios.get(scenario).request().get());
+                        if (now >= measureFrom) {
+                            recorders.get(scenario).recordValue((System.nanoTime() - now) / 1_000);
+                            if (!ok) {
+                                errors.get(scenario).increment();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        List<LoadReport.ScenarioResult> results = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            Histogram latencies = recorders.get(i).getIntervalHistogram();
+            all.add(latencies);
+            allErrors += errors.get(i).sum();
+            results.add(LoadReport.ScenarioResult.of(scenarios.get(i).name(), latencies, errors.get(i).sum(), seconds));
+        }
+        return new LoadReport(startedAt, concurrency, seconds,
+                LoadReport.ScenarioResult.of("total", all, allErrors, seconds), results);
+    }
+
+    private int pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            ticket -= scenarios.get(i).weight();
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Weights changed while running");
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
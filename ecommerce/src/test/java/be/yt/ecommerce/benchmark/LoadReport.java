@@ -0,0 +1,56 @@
+package be.yt.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Throughput and latency percentiles of a load test run, per scenario and overall. Latencies are in
+ * milliseconds.
+ */
+record LoadReport(Instant startedAt, int concurrency, double durationSeconds, ScenarioResult total,
+                  List<ScenarioResult> scenarios) {
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    void print() {
+        System.out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "scenario", "requests", "errors", "req/s", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)");
+        scenarios.forEach(ScenarioResult::print);
+        total.print();
+    }
+
+    record ScenarioResult(String name, long requests, long errors, double throughput,
+                          double p50, double p99, double p999, double max) {
+
+        static ScenarioResult of(String name, Histogram latenciesMicros, long errors, double durationSeconds) {
+            long requests = latenciesMicros.getTotalCount();
+            return new ScenarioResult(name, requests, errors, requests / durationSeconds,
+                    millis(latenciesMicros.getValueAtPercentile(50)),
+                    millis(latenciesMicros.getValueAtPercentile(99)),
+                    millis(latenciesMicros.getValueAtPercentile(99.9)),
+                    millis(latenciesMicros.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+
+        private void print() {
+            System.out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    name, requests, errors, throughput, p50, p99, p999, max);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package be.yt.ecommerce.benchmark;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * One kind of request in a traffic mix, picked in proportion to its weight.
+ */
+record LoadScenario(String name, int weight, Supplier<HttpRequest> request) {
+}
@@ -0,0 +1,146 @@
+package be.yt.ecommerce.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application on H2 and replays the storefront traffic from {@code httpClient/*.http} against
+ * it, then writes a JSON report of throughput and p50/p99/p999 latencies.
+ * <p>
+ * {@code mvn test -Pbenchmark -Dtest=LoadTestBenchmarkTest -Dloadtest.concurrency=64 -Dloadtest.duration=60s
+ * -Dloadtest.mix=browse=40,search=25,countries=5,states=10,purchase=20}
+ */
+@Tag("benchmark")
+class LoadTestBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+    private static final String MIX = System.getProperty("loadtest.mix", "browse=40,search=25,countries=5,states=10,purchase=20");
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/load-test/report.json"));
+
+    private static final int CATEGORIES = 5;
+    private static final int PRODUCTS_PER_CATEGORY = 200;
+    private static final int CUSTOMERS = 1_000;
+    private static final String[] COUNTRIES = {"BE", "NL", "FR", "DE"};
+    private static final String[] SEARCH_TERMS = {"product 1", "product 42", "product 7", "Benchmark", "no such product"};
+
+    private final List<Long> categoryIds = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+    private String baseUrl;
+
+    @Test
+    void run_ShouldSustainMixWithoutErrors() throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("load-test",
+                WebApplicationType.SERVLET, "--ecommerce.catalog.enabled=true",
+                "--ecommerce.second-level-cache.enabled=true", "--ecommerce.concurrency-limit.enabled=false",
+                "--ecommerce.rate-limit.enabled=false");
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clientThreads).build()) {
+            // Arrange
+            seed(context);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadGenerator generator = new LoadGenerator(http, scenarios());
+
+            // Act
+            LoadReport report = generator.run(CONCURRENCY, WARMUP, DURATION);
+            report.print();
+            report.write(REPORT);
+            System.out.println("Report written to " + REPORT.toAbsolutePath());
+
+            // Assert
+            assertTrue(report.total().requests() > 0);
+            assertEquals(0, report.total().errors());
+        }
+    }
+
+    private List<LoadScenario> scenarios() {
+        Map<String, Supplier<HttpRequest>> requests = new LinkedHashMap<>();
+        requests.put("browse", () -> get("/products/search/browseByCategoryId?size=20&id=" + random(categoryIds)));
+        requests.put("search", () -> get("/products/search/findByNameContaining?size=20&name="
+                + random(SEARCH_TERMS).replace(" ", "%20")));
+        requests.put("countries", () -> get("/countries"));
+        requests.put("states", () -> get("/states/search/findByCountryCode?code=" + random(COUNTRIES)));
+        requests.put("purchase", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/checkout/purchase"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(purchaseJson()))
+                .build());
+
+        List<LoadScenario> scenarios = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] nameAndWeight = entry.strip().split("=");
+            Supplier<HttpRequest> request = requests.get(nameAndWeight[0]);
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown scenario " + nameAndWeight[0] + ", expected one of " + requests.keySet());
+            }
+            scenarios.add(new LoadScenario(nameAndWeight[0], Integer.parseInt(nameAndWeight[1]), request));
+        }
+        return scenarios;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private String purchaseJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int cartSize = 1 + random.nextInt(4);
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < cartSize; i++) {
+            items.add("""
+                    {"quantity":%d,"productId":%d}""".formatted(1 + random.nextInt(3), random(productIds)));
+        }
+        String address = """
+                {"street":"1 Main St","city":"Ghent","state":"Oost-Vlaanderen","country":"Belgium","zipCode":"9000"}""";
+        return """
+                {"customer":{"firstName":"Load","lastName":"Test","email":"customer%d@example.com"},\
+                "shippingAddress":%s,"billingAddress":%s,"order":{},"orderItems":%s}"""
+                .formatted(random.nextInt(CUSTOMERS), address, address, items);
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int i = 0; i < CATEGORIES; i++) {
+            List<Long> ids = BenchmarkApplication.seedProducts(context, PRODUCTS_PER_CATEGORY);
+            productIds.addAll(ids);
+            categoryIds.add(jdbcTemplate.queryForObject("select category_id from product where id = ?", Long.class,
+                    ids.get(0)));
+        }
+        for (String code : COUNTRIES) {
+            jdbcTemplate.update("insert into country (code, name) values (?, ?)", code, "Country " + code);
+            for (int i = 0; i < 10; i++) {
+                jdbcTemplate.update("insert into state (name, country_id) select ?, id from country where code = ?",
+                        "State " + code + i, code);
+            }
+        }
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
@@ -0,0 +1,66 @@
+package be.yt.ecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Renders {@code /products} pages as HAL through Spring Data REST, without the network: the page query
+ * on H2 or the in-memory catalog snapshot, resource assembly with links and Jackson serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPageBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean catalogSnapshot;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("product-page-benchmark", WebApplicationType.SERVLET,
+                "--ecommerce.catalog.enabled=" + catalogSnapshot);
+        BenchmarkApplication.seedProducts(context, 1_000);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String productPage() throws Exception {
+        MvcResult result = mockMvc.perform(get("/products")
+                        .param("size", String.valueOf(pageSize))
+                        .accept(MediaTypes.HAL_JSON))
+                .andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus());
+        }
+        return result.getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,60 @@
+package be.yt.ecommerce.benchmark;
+
+import be.yt.ecommerce.dto.Purchase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads checkout request bodies the way {@code CheckoutController} receives them from the storefront.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PurchaseDeserializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        body = purchaseJson(cartSize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Purchase deserialize() throws IOException {
+        return objectMapper.readValue(body, Purchase.class);
+    }
+
+    private static String purchaseJson(int cartSize) {
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < cartSize; i++) {
+            items.add("""
+                    {"imageUrl":"assets/images/products/coffeemugs/coffeemug-luv2code-%d.png",\
+                    "quantity":%d,"unitPrice":18.99,"productId":%d}""".formatted(1000 + i, 1 + i % 3, 1 + i));
+        }
+        String address = """
+                {"street":"1 Main St","city":"Ghent","state":"Oost-Vlaanderen","country":"Belgium","zipCode":"9000"}""";
+        return """
+                {"customer":{"firstName":"Susan","lastName":"Smith","email":"susan.smith@test.com"},\
+                "shippingAddress":%s,"billingAddress":%s,\
+                "order":{"totalPrice":36.98,"totalQuantity":%d},"orderItems":%s}"""
+                .formatted(address, address, cartSize, items);
+    }
+}
@@ -0,0 +1,107 @@
+package be.yt.ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 10_000_000;
+    private static final long SLOW = 50_000_000;
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new ConcurrencyLimitProperties.Checkout(4, 2, 8, 2.0, 0.5, Duration.ofSeconds(1)));
+
+    @Test
+    void tryAcquire_ShouldRejectRequestsOverLimit() {
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // Assert
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.inFlight());
+    }
+
+    @Test
+    void release_ShouldRaiseLimit_WhenFastAndBusy() {
+        // Arrange
+        acquire(4);
+
+        // Act
+        release(4, FAST, false);
+
+        // Assert
+        assertEquals(6, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void release_ShouldKeepLimit_WhenMostlyIdle() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            acquire(1);
+            release(1, FAST, false);
+        }
+
+        // Assert
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void release_ShouldLowerLimitDownToMinimum_WhenLatencyRises() {
+        // Arrange
+        acquire(1);
+        release(1, FAST, false);
+
+        // Act
+        acquire(3);
+        release(3, SLOW, false);
+
+        // Assert
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void release_ShouldLowerLimit_WhenRequestFails() {
+        // Arrange
+        acquire(1);
+
+        // Act
+        release(1, FAST, true);
+
+        // Assert
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void release_ShouldRecover_WhenSlowLatencyLasts() {
+        // Arrange
+        acquire(1);
+        release(1, FAST, false);
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            acquire(limiter.limit());
+            release(limiter.inFlight(), SLOW, false);
+        }
+
+        // Assert
+        assertEquals(8, limiter.limit());
+    }
+
+    private void acquire(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+
+    private void release(int requests, long latencyNanos, boolean failed) {
+        for (int i = 0; i < requests; i++) {
+            limiter.release(latencyNanos, failed);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            new ConcurrencyLimitProperties(true,
+                    new ConcurrencyLimitProperties.Checkout(1, 1, 10, 2.0, 0.9, Duration.ofSeconds(2)),
+                    new ConcurrencyLimitProperties.Catalog(1, Duration.ofSeconds(1)),
+                    new ConcurrencyLimitProperties.BatchCheckout(1, Duration.ofSeconds(5))),
+            restConfiguration(), meterRegistry);
+
+    @Test
+    void doFilter_ShouldShedCheckout_WhenLimitIsReached() throws Exception {
+        // Act
+        MockHttpServletResponse rejected = whileBusy("POST", "/api/checkout/purchase");
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("ecommerce.concurrency.rejected").tag("limiter", "checkout").counter().count());
+        assertEquals(0, meterRegistry.get("ecommerce.concurrency.in.flight").tag("limiter", "checkout").gauge().value());
+    }
+
+    @Test
+    void doFilter_ShouldShedCatalogReadsSeparatelyFromCheckout() throws Exception {
+        // Act
+        MockHttpServletResponse rejected = whileBusy("GET", "/products/1");
+        MockHttpServletResponse checkout = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/checkout/purchase"), checkout, new MockFilterChain());
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("ecommerce.concurrency.rejected").tag("limiter", "catalog").counter().count());
+        assertEquals(HttpServletResponse.SC_OK, checkout.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldShedBatchCheckoutsSeparatelyFromCheckout() throws Exception {
+        // Act
+        MockHttpServletResponse rejected = whileBusy("POST", "/api/checkout/purchases");
+        MockHttpServletResponse checkout = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/checkout/purchase"), checkout, new MockFilterChain());
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, rejected.getStatus());
+        assertEquals("5", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("ecommerce.concurrency.rejected").tag("limiter", "checkout-batch").counter().count());
+        assertEquals(0, meterRegistry.get("ecommerce.concurrency.rejected").tag("limiter", "checkout").counter().count());
+        assertEquals(HttpServletResponse.SC_OK, checkout.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldNotLimitOtherRequests() throws Exception {
+        // Act
+        MockHttpServletResponse first = whileBusy("GET", "/api/orders/abc/status");
+        MockHttpServletResponse second = whileBusy("PUT", "/products/1");
+
+        // Assert
+        assertEquals(HttpServletResponse.SC_OK, first.getStatus());
+        assertEquals(HttpServletResponse.SC_OK, second.getStatus());
+    }
+
+    @Test
+    void limit_ShouldBePublished() {
+        // Act & Assert
+        assertEquals(1, meterRegistry.get("ecommerce.concurrency.limit").tag("limiter", "checkout").gauge().value());
+        assertEquals(1, meterRegistry.get("ecommerce.concurrency.limit").tag("limiter", "catalog").gauge().value());
+    }
+
+    /**
+     * Sends a request twice, the second time while the first is still in the filter chain, and returns
+     * the response to the second.
+     */
+    private MockHttpServletResponse whileBusy(String method, String uri) throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> first = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest(method, uri), new MockHttpServletResponse(), (req, res) -> {
+                    entered.countDown();
+                    try {
+                        done.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+            entered.await();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            try {
+                filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+            } finally {
+                done.countDown();
+            }
+            first.get();
+            return response;
+        }
+    }
+
+    private static RepositoryRestConfiguration restConfiguration() {
+        RepositoryRestConfiguration configuration = mock(RepositoryRestConfiguration.class);
+        when(configuration.getBasePath()).thenReturn(URI.create(""));
+        return configuration;
+    }
+}
@@ -0,0 +1,101 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.dto.ProductImportReport;
+import be.yt.ecommerce.service.InvalidProductFileException;
+import be.yt.ecommerce.service.ProductFileFormat;
+import be.yt.ecommerce.service.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportRunnerTest {
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @Mock
+    private ConfigurableApplicationContext context;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicInteger exitCode = new AtomicInteger(-1);
+
+    @Test
+    void run_ShouldImportGzippedCsvAndExitWithZero() throws Exception {
+        // Arrange
+        Path file = directory.resolve("products.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("sku,name,categoryName\r\nMUG-1,Coffee Mug,Mugs\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        AtomicReference<String> imported = new AtomicReference<>();
+        when(productImportService.importProducts(any(InputStream.class), eq(ProductFileFormat.CSV)))
+                .thenAnswer(invocation -> {
+                    imported.set(new String(invocation.<InputStream>getArgument(0).readAllBytes(), StandardCharsets.UTF_8));
+                    return report(0);
+                });
+
+        // Act
+        runner(file).run(new DefaultApplicationArguments());
+
+        // Assert
+        assertEquals("sku,name,categoryName\r\nMUG-1,Coffee Mug,Mugs\r\n", imported.get());
+        assertEquals(0, exitCode.get());
+        verify(context).close();
+    }
+
+    @Test
+    void run_ShouldExitWithOne_WhenRowsAreRejected() throws Exception {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("products.ndjson"), "{\"name\":\"No sku\"}\n");
+        when(productImportService.importProducts(any(InputStream.class), eq(ProductFileFormat.NDJSON)))
+                .thenReturn(report(1));
+
+        // Act
+        runner(file).run(new DefaultApplicationArguments());
+
+        // Assert
+        assertEquals(1, exitCode.get());
+    }
+
+    @Test
+    void run_ShouldRejectUnknownExtension() throws Exception {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("products.xml"), "<products/>");
+
+        // Act & Assert
+        assertThrows(InvalidProductFileException.class, () -> runner(file).run(new DefaultApplicationArguments()));
+        verifyNoInteractions(productImportService);
+        assertEquals(-1, exitCode.get());
+    }
+
+    private ProductImportRunner runner(Path file) {
+        ProductImportProperties properties = new ProductImportProperties(file.toString(), 1000, 4, 100000);
+        return new ProductImportRunner(productImportService, properties, context, exitCode::set);
+    }
+
+    private static ProductImportReport report(long rejected) {
+        List<String> errors = rejected == 0 ? List.of() : List.of("line 1: sku is required");
+        return new ProductImportReport(1, 1 - rejected, 0, rejected, 0, 5, errors);
+    }
+}
@@ -0,0 +1,67 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void doFilter_ShouldFailBeforeResponseIsCommitted_WhenBudgetIsExceeded() throws Exception {
+        // Arrange
+        QueryStatsFilter filter = new QueryStatsFilter(meterRegistry, new QueryInstrumentationProperties(true, 2, true));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, runStatements(3)));
+
+        // Assert
+        assertFalse(response.isCommitted());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_ShouldWriteBufferedBody_WhenWithinBudget() throws Exception {
+        // Arrange
+        QueryStatsFilter filter = new QueryStatsFilter(meterRegistry, new QueryInstrumentationProperties(true, 2, true));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, runStatements(2));
+
+        // Assert
+        assertEquals("done", response.getContentAsString());
+        assertEquals(2, meterRegistry.get("http.server.requests.sql.statements").summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_ShouldOnlyLog_WhenFailingIsDisabled() throws Exception {
+        // Arrange
+        QueryStatsFilter filter = new QueryStatsFilter(meterRegistry, new QueryInstrumentationProperties(true, 2, false));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, runStatements(3));
+
+        // Assert
+        assertEquals("done", response.getContentAsString());
+    }
+
+    private static FilterChain runStatements(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                QueryStats.current().statementStarted();
+                QueryStats.current().statementFinished(1);
+            }
+            response.getWriter().write("done");
+            response.flushBuffer();
+        };
+    }
+}
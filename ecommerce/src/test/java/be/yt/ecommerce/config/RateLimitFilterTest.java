@@ -0,0 +1,88 @@
+package be.yt.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new RateLimitProperties(true, List.of("/products/search/findByNameContaining", "/api/orders/*/status"), 2, 0.5, 100,
+                    Duration.ofMinutes(10)),
+            restConfiguration("/api"), meterRegistry);
+
+    @Test
+    void doFilter_ShouldRejectClient_WhenOutOfTokens() throws Exception {
+        // Arrange
+        send("10.0.0.1", "/api/products/search/findByNameContaining");
+        send("10.0.0.1", "/api/products/search/findByNameContaining");
+
+        // Act
+        MockHttpServletResponse response = send("10.0.0.1", "/api/products/search/findByNameContaining");
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("ecommerce.rate-limit.rejected").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldLimitEachClientSeparately() throws Exception {
+        // Arrange
+        send("10.0.0.1", "/api/products/search/findByNameContaining");
+        send("10.0.0.1", "/api/products/search/findByNameContaining");
+
+        // Act
+        MockHttpServletResponse response = send("10.0.0.2", "/api/products/search/findByNameContaining");
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(2, meterRegistry.get("ecommerce.rate-limit.clients").gauge().value());
+    }
+
+    @Test
+    void doFilter_ShouldApplyToConfiguredPathsOnly() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            send("10.0.0.1", "/api/products/1");
+            send("10.0.0.1", "/api/products/search/findByCategoryId");
+        }
+
+        // Act
+        send("10.0.0.1", "/api/orders/abc/status");
+        send("10.0.0.1", "/api/orders/abc/status");
+        MockHttpServletResponse response = send("10.0.0.1", "/api/orders/abc/status");
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals(1, meterRegistry.get("ecommerce.rate-limit.rejected").counter().count());
+    }
+
+    private MockHttpServletResponse send(String client, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RepositoryRestConfiguration restConfiguration(String basePath) {
+        RepositoryRestConfiguration configuration = mock(RepositoryRestConfiguration.class);
+        when(configuration.getBasePath()).thenReturn(URI.create(basePath));
+        return configuration;
+    }
+}
@@ -0,0 +1,45 @@
+package be.yt.ecommerce.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate limit check when every thread hits the bucket of one client, and when they spread over
+ * many clients; run through {@link RateLimiterBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimiterBenchmark {
+    private static final int CLIENTS = 10_000;
+
+    // Never runs out, so every call takes a token and the compare and set is contended
+    private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, List.of(), Integer.MAX_VALUE,
+            1_000_000_000, CLIENTS * 2, Duration.ofMinutes(10)));
+    private final String[] clients = new String[CLIENTS];
+
+    public RateLimiterBenchmark() {
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long oneClient() {
+        return rateLimiter.tryAcquire(clients[0]);
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return rateLimiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+}
@@ -0,0 +1,56 @@
+package be.yt.ecommerce.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class RateLimiterBenchmarkTest {
+
+    private static final int[] THREADS = {1, 4, 16};
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    @Test
+    void tryAcquire_ShouldStayWellUnderAMicrosecondUnderContention() throws Exception {
+        // Act
+        // CPU time per check: with more threads than cores, the time a thread waits for a core is not the limiter's
+        System.out.printf("%-8s %22s %24s%n", "threads", "one client (ns/check)", "many clients (ns/check)");
+        double worst = 0;
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(RateLimiterBenchmark.class.getName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(2)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(3)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            double oneClient = Math.min(threads, CORES) * 1_000 / score(results, "oneClient");
+            double manyClients = Math.min(threads, CORES) * 1_000 / score(results, "manyClients");
+            System.out.printf("%-8d %22.1f %24.1f%n", threads, oneClient, manyClients);
+            worst = Math.max(worst, Math.max(oneClient, manyClients));
+        }
+
+        // Assert
+        assertTrue(worst < 1_000, "expected a rate limit check to take well under a microsecond");
+    }
+
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+}
@@ -0,0 +1,151 @@
+package be.yt.ecommerce.config;
+
+import be.yt.ecommerce.dao.CountryRepository;
+import be.yt.ecommerce.dto.OrderStatusView;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.Country;
+import be.yt.ecommerce.service.CheckoutService;
+import be.yt.ecommerce.service.OrderStatusService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application on two H2 databases, a primary and a replica that never receives the primary's
+ * changes, so every read shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "ecommerce.replicas.enabled=true",
+        "ecommerce.replicas.nodes[0].url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "ecommerce.replicas.nodes[0].username=sa",
+        "ecommerce.replicas.nodes[0].password=",
+        "ecommerce.replicas.health-check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        // Copied once; dropping it between tests would fail scheduled reads that hit the replica meanwhile
+        if (replica.queryForObject("select count(*) from information_schema.tables where table_name = 'COUNTRY'",
+                Integer.class) == 0) {
+            for (String statement : jdbcTemplate.queryForList("script nodata", String.class)) {
+                replica.execute(statement);
+            }
+        }
+        replica.update("delete from country");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+        jdbcTemplate.update("delete from country");
+    }
+
+    @Test
+    void repositoryReads_ShouldGoToReplica() throws Exception {
+        // Arrange
+        jdbcTemplate.update("insert into country (code, name) values ('BE', 'Belgium')");
+        replica.update("insert into country (code, name) values ('NL', 'Netherlands')");
+
+        // Act
+        List<Country> countries = countryRepository.findAll();
+
+        // Assert
+        assertEquals(List.of("NL"), countries.stream().map(Country::getCode).toList());
+        mockMvc.perform(get("/countries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.countries.length()").value(1))
+                .andExpect(jsonPath("$._embedded.countries[0].code").value("NL"));
+    }
+
+    @Test
+    void repositoryWrites_ShouldGoToPrimary() {
+        // Arrange
+        Country country = new Country();
+        country.setCode("DE");
+        country.setName("Germany");
+
+        // Act
+        countryRepository.save(country);
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from country where code = 'DE'", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from country", Integer.class));
+    }
+
+    @Test
+    void placeOrder_ShouldRunOnPrimaryAndBeReadableRightAway() {
+        // Arrange
+        Purchase purchase = createPurchase();
+
+        // Act
+        String trackingNumber = checkoutService.placeOrder(purchase).orderTrackingNumber();
+        OrderStatusView view = orderStatusService.findByTrackingNumber(trackingNumber);
+
+        // Assert
+        assertEquals(trackingNumber, view.orderTrackingNumber());
+        assertEquals(0, replica.queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @Test
+    void findByTrackingNumber_ShouldFallBackToPrimary_WhenReplicaDoesNotHaveOrderYet() {
+        // Arrange
+        String trackingNumber = checkoutService.placeOrder(createPurchase()).orderTrackingNumber();
+        String placedElsewhere = trackingNumber + "-ELSEWHERE";
+        jdbcTemplate.update("update orders set order_tracking_number = ? where order_tracking_number = ?",
+                placedElsewhere, trackingNumber);
+
+        // Act
+        OrderStatusView view = orderStatusService.findByTrackingNumber(placedElsewhere);
+
+        // Assert
+        assertEquals(placedElsewhere, view.orderTrackingNumber());
+    }
+
+    private Purchase createPurchase() {
+        Long productId = createProduct(jdbcTemplate, createCategory(jdbcTemplate, "Mugs"), "Mug", "9.99", 100);
+        return purchase(item(productId, 2));
+    }
+}
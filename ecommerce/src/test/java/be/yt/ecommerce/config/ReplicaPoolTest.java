@@ -0,0 +1,160 @@
+package be.yt.ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.net.ConnectException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaPoolTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:pool-primary";
+    private static final String REPLICA_A = "jdbc:h2:mem:pool-replica-a";
+    private static final String REPLICA_B = "jdbc:h2:mem:pool-replica-b";
+
+    @Test
+    void getConnection_ShouldRotateOverReplicas() throws SQLException {
+        // Arrange
+        ReplicaPool pool = new ReplicaPool(List.of(dataSource(REPLICA_A), dataSource(REPLICA_B)), dataSource(PRIMARY));
+
+        // Act
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            urls.add(url(pool));
+        }
+
+        // Assert
+        assertEquals(List.of(REPLICA_A, REPLICA_B, REPLICA_A, REPLICA_B), urls);
+    }
+
+    @Test
+    void getConnection_ShouldSkipReplicaThatFailed() throws SQLException {
+        // Arrange
+        ReplicaPool pool = new ReplicaPool(List.of(failing(refused()), dataSource(REPLICA_A)), dataSource(PRIMARY));
+
+        // Act
+        List<String> urls = List.of(url(pool), url(pool), url(pool));
+
+        // Assert
+        assertEquals(List.of(REPLICA_A, REPLICA_A, REPLICA_A), urls);
+        assertEquals(1, pool.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenNoReplicaIsAvailable() throws SQLException {
+        // Arrange
+        ReplicaPool pool = new ReplicaPool(List.of(failing(refused())), dataSource(PRIMARY));
+
+        // Act & Assert
+        assertEquals(PRIMARY, url(pool));
+        assertEquals(0, pool.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_ShouldKeepReplicaInRotation_WhenItsPoolTimesOut() throws SQLException {
+        // Arrange
+        FailingDataSource saturated = failing(new SQLTransientConnectionException("Connection is not available"));
+        ReplicaPool pool = new ReplicaPool(List.of(saturated, dataSource(REPLICA_A)), dataSource(PRIMARY));
+
+        // Act
+        List<String> urls = List.of(url(pool), url(pool));
+        pool.checkHealth();
+
+        // Assert
+        assertEquals(List.of(REPLICA_A, REPLICA_A), urls);
+        assertEquals(2, pool.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_ShouldTakeReplicaOutOfRotation_WhenPoolTimesOutOnConnectFailure() throws SQLException {
+        // Arrange
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+                "Connection is not available", null, new SQLException("Communications link failure",
+                        null, new ConnectException("Connection refused")));
+        ReplicaPool pool = new ReplicaPool(List.of(failing(timeout)), dataSource(PRIMARY));
+
+        // Act & Assert
+        assertEquals(PRIMARY, url(pool));
+        assertEquals(0, pool.healthyReplicas());
+    }
+
+    @Test
+    void checkHealth_ShouldTakeBackReplicaThatAnswersAgain() throws SQLException {
+        // Arrange
+        FailingDataSource replica = failing(refused());
+        ReplicaPool pool = new ReplicaPool(List.of(replica), dataSource(PRIMARY));
+        pool.checkHealth();
+        assertEquals(0, pool.healthyReplicas());
+        replica.failure = null;
+
+        // Act
+        pool.checkHealth();
+
+        // Assert
+        assertEquals(1, pool.healthyReplicas());
+        assertEquals(REPLICA_A, url(pool));
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldThrowSqlFeatureNotSupported() {
+        // Arrange
+        ReplicaPool pool = new ReplicaPool(List.of(dataSource(REPLICA_A)), dataSource(PRIMARY));
+
+        // Act & Assert
+        assertThrows(SQLFeatureNotSupportedException.class, () -> pool.getConnection("sa", ""));
+        assertEquals(1, pool.healthyReplicas());
+    }
+
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+
+    private static FailingDataSource failing(SQLException failure) {
+        return new FailingDataSource(dataSource(REPLICA_A), failure);
+    }
+
+    private static SQLException refused() {
+        return new SQLException("Connection refused", "08001");
+    }
+
+    private static String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    /**
+     * Throws the given failure until it is cleared, then hands out connections of the delegate.
+     */
+    private static final class FailingDataSource extends AbstractDataSource {
+        private final DataSource delegate;
+        private volatile SQLException failure;
+
+        private FailingDataSource(DataSource delegate, SQLException failure) {
+            this.delegate = delegate;
+            this.failure = failure;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failure != null) {
+                throw failure;
+            }
+            return delegate.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package be.yt.ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000;
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        // Act & Assert
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConstantRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        // Act & Assert
+        assertEquals(SECOND / 8, bucket.tryAcquire(SECOND / 8));
+        assertEquals(0, bucket.tryAcquire(SECOND / 4));
+        assertTrue(bucket.tryAcquire(SECOND / 4) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldNotSaveTokensBeyondCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        // Act
+        long later = 100 * SECOND;
+
+        // Assert
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldHandOutEachTokenOnce_WhenContended() throws Exception {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10_000, 1, 0);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    int taken = 0;
+                    for (int j = 0; j < 5_000; j++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+        }
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get();
+        }
+
+        // Assert
+        assertEquals(10_000, taken);
+    }
+}
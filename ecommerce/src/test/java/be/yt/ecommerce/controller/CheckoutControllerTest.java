@@ -1,20 +1,31 @@
 package be.yt.ecommerce.controller;
 
+import be.yt.ecommerce.config.OrderAccessProperties;
+import be.yt.ecommerce.dto.BatchPurchaseResult;
 import be.yt.ecommerce.dto.Purchase;
 import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.service.BatchCheckoutService;
 import be.yt.ecommerce.service.CheckoutService;
+import be.yt.ecommerce.service.IdempotentCheckoutService;
+import be.yt.ecommerce.service.OrderAccessTokens;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -28,6 +39,16 @@ class CheckoutControllerTest {
 
     @Mock
     private CheckoutService checkoutService;
+
+    @Mock
+    private IdempotentCheckoutService idempotentCheckoutService;
+
+    @Mock
+    private BatchCheckoutService batchCheckoutService;
+
+    @Spy
+    private OrderAccessTokens orderAccessTokens =
+            new OrderAccessTokens(new OrderAccessProperties("secret", Duration.ofDays(30)));
     
     @InjectMocks
     private CheckoutController checkoutController;
@@ -52,7 +73,8 @@ class CheckoutControllerTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(purchase)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.orderTrackingNumber").value(orderTrackingNumber));
+                .andExpect(jsonPath("$.orderTrackingNumber").value(orderTrackingNumber))
+                .andExpect(jsonPath("$.statusToken").value(orderAccessTokens.statusToken(orderTrackingNumber)));
     }
     
     @Test
@@ -70,4 +92,56 @@ class CheckoutControllerTest {
                 .content(objectMapper.writeValueAsString(purchase)))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    void placeOrder_ShouldUseIdempotentCheckout_WhenIdempotencyKeyIsPresent() throws Exception {
+        // Arrange
+        Purchase purchase = new Purchase();
+        String orderTrackingNumber = "27b95829-4f3f-4ddf-8983-151ba010e35b";
+
+        when(idempotentCheckoutService.placeOrder(eq("key-1"), any(Purchase.class)))
+                .thenReturn(new PurchaseResponse(orderTrackingNumber));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/checkout/purchase")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(purchase)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderTrackingNumber").value(orderTrackingNumber));
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void placeOrder_ShouldRejectOverlongIdempotencyKey() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/checkout/purchase")
+                .header("Idempotency-Key", "k".repeat(256))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Purchase())))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(checkoutService, idempotentCheckoutService);
+    }
+
+    @Test
+    void placeOrders_ShouldReturnResultPerPurchase() throws Exception {
+        // Arrange
+        when(batchCheckoutService.placeOrders(any())).thenReturn(List.of(
+                new BatchPurchaseResult(200, "27b95829-4f3f-4ddf-8983-151ba010e35b", null, null),
+                new BatchPurchaseResult(400, null, null, "Order has no items")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/checkout/purchases")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(new Purchase(), new Purchase()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].orderTrackingNumber").value("27b95829-4f3f-4ddf-8983-151ba010e35b"))
+                .andExpect(jsonPath("$[0].statusToken")
+                        .value(orderAccessTokens.statusToken("27b95829-4f3f-4ddf-8983-151ba010e35b")))
+                .andExpect(jsonPath("$[1].statusToken").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error").value("Order has no items"));
+        verifyNoInteractions(checkoutService, idempotentCheckoutService);
+    }
+}
@@ -0,0 +1,194 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.CountryRepository;
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dao.StateRepository;
+import be.yt.ecommerce.entity.Country;
+import be.yt.ecommerce.entity.OrderItem;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import be.yt.ecommerce.entity.State;
+import be.yt.ecommerce.service.InventoryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ConditionalGetFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ProductCategory category;
+
+    private Product mug;
+
+    @BeforeEach
+    void setUp() {
+        category = new ProductCategory();
+        category.setCategoryName("Conditional Test");
+        productCategoryRepository.save(category);
+        mug = createProduct("Mug");
+    }
+
+    @Test
+    void getProduct_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/products/{id}", mug.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        double statementsBefore = sqlStatements();
+
+        mockMvc.perform(get("/products/{id}", mug.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Only the validator query, no entity load
+        assertEquals(1, sqlStatements() - statementsBefore);
+    }
+
+    @Test
+    void getProduct_ShouldReturnNewEtag_WhenProductChanged() throws Exception {
+        String etag = mockMvc.perform(get("/products/{id}", mug.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Thread.sleep(10);
+        mug.setUnitPrice(new BigDecimal("11.99"));
+        productRepository.saveAndFlush(mug);
+
+        String changedEtag = mockMvc.perform(get("/products/{id}", mug.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    void getProduct_ShouldReturnNewEtag_WhenStockIsSyncedFromShards() throws Exception {
+        String etag = mockMvc.perform(get("/products/{id}", mug.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Thread.sleep(10);
+        OrderItem item = new OrderItem();
+        item.setProductId(mug.getId());
+        item.setQuantity(3);
+        inventoryService.reserve(List.of(item));
+        inventoryService.copyStockToProducts();
+
+        String changedEtag = mockMvc.perform(get("/products/{id}", mug.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(etag, changedEtag);
+    }
+
+    @Test
+    void getProduct_ShouldReturnNotModified_WhenNotModifiedSince() throws Exception {
+        String lastModified = mockMvc.perform(get("/products/{id}", mug.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/products/{id}", mug.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProduct_ShouldLeaveMissingProductToHandler() throws Exception {
+        mockMvc.perform(get("/products/{id}", -1).header(HttpHeaders.IF_NONE_MATCH, "\"0--1\""))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void findByCategoryId_ShouldReturnOkAgain_WhenProductAdded() throws Exception {
+        String etag = mockMvc.perform(get("/products/search/findByCategoryId").param("id", category.getId().toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/products/search/findByCategoryId").param("id", category.getId().toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        createProduct("Cup");
+
+        mockMvc.perform(get("/products/search/findByCategoryId").param("id", category.getId().toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void findStates_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        Country country = new Country();
+        country.setCode("BE");
+        country.setName("Belgium");
+        countryRepository.save(country);
+        State state = new State();
+        state.setName("Flanders");
+        state.setCountry(country);
+        stateRepository.saveAndFlush(state);
+
+        String countriesEtag = mockMvc.perform(get("/countries"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String statesEtag = mockMvc.perform(get("/states/search/findByCountryCode").param("code", "BE"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/countries").header(HttpHeaders.IF_NONE_MATCH, countriesEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/states/search/findByCountryCode").param("code", "BE")
+                        .header(HttpHeaders.IF_NONE_MATCH, statesEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    private double sqlStatements() {
+        return meterRegistry.find("http.server.requests.sql.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private Product createProduct(String name) {
+        Product product = new Product();
+        product.setSku(name.toUpperCase());
+        product.setName(name);
+        product.setDescription(name);
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setActive(true);
+        product.setUnitsInStock(10);
+        product.setCategory(category);
+        return productRepository.saveAndFlush(product);
+    }
+}
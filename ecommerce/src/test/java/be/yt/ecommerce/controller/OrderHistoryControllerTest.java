@@ -0,0 +1,128 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.service.OrderAccessTokens;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderHistoryControllerTest {
+
+    private static final long CUSTOMER_ID = 1001;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderAccessTokens orderAccessTokens;
+
+    @BeforeEach
+    void setUp() {
+        createCustomer(CUSTOMER_ID, "history@example.com");
+        createCustomer(1002, "other@example.com");
+        createOrder(11, CUSTOMER_ID, "T1", "2024-01-01 10:00:00");
+        createOrder(12, CUSTOMER_ID, "T2", "2024-01-02 10:00:00.000100");
+        // Placed within the same millisecond as T2
+        createOrder(13, CUSTOMER_ID, "T3", "2024-01-02 10:00:00.000200");
+        createOrder(14, CUSTOMER_ID, "T4", "2024-01-02 10:00:00.000200");
+        createOrder(15, CUSTOMER_ID, "T5", "2024-01-03 10:00:00");
+        createOrder(16, 1002, "OTHER", "2024-01-04 10:00:00");
+    }
+
+    @Test
+    void getHistory_ShouldPageThroughOrdersNewestFirst() throws Exception {
+        String firstPage = mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(CUSTOMER_ID))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].orderTrackingNumber", contains("T5", "T4")))
+                .andExpect(jsonPath("$.orders[0].id").doesNotExist())
+                .andExpect(jsonPath("$.orders[0].totalQuantity").value(1))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(CUSTOMER_ID))
+                        .param("size", "2")
+                        .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].orderTrackingNumber", contains("T3", "T2")))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(CUSTOMER_ID))
+                        .param("size", "2")
+                        .param("cursor", JsonPath.<String>read(secondPage, "$.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].orderTrackingNumber", contains("T1")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getHistory_ShouldOnlyShowCustomerOfToken() throws Exception {
+        mockMvc.perform(get("/api/orders/history").param("token", orderAccessTokens.historyToken(1002)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[*].orderTrackingNumber", contains("OTHER")));
+    }
+
+    @Test
+    void getHistory_ShouldRejectForgedToken() throws Exception {
+        String forged = orderAccessTokens.historyToken(1002).replaceFirst("^1002\\.", CUSTOMER_ID + ".");
+
+        mockMvc.perform(get("/api/orders/history").param("token", forged))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/orders/history").param("token", "1001"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getHistory_ShouldRejectCursorOfAnotherCustomer() throws Exception {
+        String firstPage = mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(CUSTOMER_ID))
+                        .param("size", "1"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(1002))
+                        .param("cursor", JsonPath.<String>read(firstPage, "$.nextCursor")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getHistory_ShouldRejectInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/orders/history"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders/history")
+                        .param("token", orderAccessTokens.historyToken(CUSTOMER_ID))
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void createCustomer(long id, String email) {
+        jdbcTemplate.update("insert into customer (id, first_name, last_name, email) values (?, 'Jane', 'Doe', ?)",
+                id, email);
+    }
+
+    private void createOrder(long id, long customerId, String trackingNumber, String dateCreated) {
+        jdbcTemplate.update("insert into orders (id, customer_id, order_tracking_number, status, total_price, "
+                        + "total_quantity, date_created) values (?, ?, ?, 'created', 9.99, 1, ?)",
+                id, customerId, trackingNumber, Timestamp.valueOf(dateCreated));
+    }
+}
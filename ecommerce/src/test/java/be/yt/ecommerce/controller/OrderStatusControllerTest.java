@@ -0,0 +1,91 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.config.OrderAccessProperties;
+import be.yt.ecommerce.dto.OrderStatusView;
+import be.yt.ecommerce.service.OrderAccessTokens;
+import be.yt.ecommerce.service.OrderNotFoundException;
+import be.yt.ecommerce.service.OrderStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private OrderStatusService orderStatusService;
+
+    @Spy
+    private OrderAccessTokens orderAccessTokens =
+            new OrderAccessTokens(new OrderAccessProperties("secret", Duration.ofDays(30)));
+
+    @InjectMocks
+    private OrderStatusController orderStatusController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(orderStatusController).build();
+    }
+
+    @Test
+    void getStatus_ShouldReturnOrderStatusView() throws Exception {
+        // Arrange
+        OrderStatusView view = new OrderStatusView("01HZX3Q4R5S6T", "SHIPPED", new BigDecimal("24.48"), 3, 2,
+                new Date(), new Date());
+        when(orderStatusService.findByTrackingNumber("01HZX3Q4R5S6T")).thenReturn(view);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/01HZX3Q4R5S6T/status")
+                        .param("token", orderAccessTokens.statusToken("01HZX3Q4R5S6T")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderTrackingNumber").value("01HZX3Q4R5S6T"))
+                .andExpect(jsonPath("$.status").value("SHIPPED"))
+                .andExpect(jsonPath("$.totalQuantity").value(3))
+                .andExpect(jsonPath("$.itemCount").value(2));
+    }
+
+    @Test
+    void getStatus_ShouldReturnNotFoundForUnknownTrackingNumber() throws Exception {
+        // Arrange
+        when(orderStatusService.findByTrackingNumber("UNKNOWN")).thenThrow(new OrderNotFoundException("No order"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/UNKNOWN/status").param("token", orderAccessTokens.statusToken("UNKNOWN")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStatus_ShouldReturnNotFound_WhenTokenDoesNotMatchTrackingNumber() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/01HZX3Q4R5S6U/status")
+                        .param("token", orderAccessTokens.statusToken("01HZX3Q4R5S6T")))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(orderStatusService);
+    }
+
+    @Test
+    void getStatus_ShouldRequireToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/orders/01HZX3Q4R5S6T/status"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(orderStatusService);
+    }
+}
@@ -0,0 +1,160 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductBrowseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ProductCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = new ProductCategory();
+        category.setCategoryName("Browse Test");
+        productCategoryRepository.save(category);
+
+        ProductCategory otherCategory = new ProductCategory();
+        otherCategory.setCategoryName("Other");
+        productCategoryRepository.save(otherCategory);
+
+        createProduct("Mug 1", category);
+        createProduct("Pad 1", otherCategory);
+        createProduct("Mug 2", category);
+        createProduct("Mug 3", category);
+    }
+
+    @Test
+    void browseByCategoryId_ShouldFollowContinuationTokens() throws Exception {
+        String firstPage = mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Mug 1", "Mug 2")))
+                .andExpect(jsonPath("$.page.size").value(2))
+                .andExpect(jsonPath("$.page.totalElements").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href").exists())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(firstPage, "$.page.nextCursor");
+
+        mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Mug 3")))
+                .andExpect(jsonPath("$.page.nextCursor", nullValue()))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    void browseByCategoryId_ShouldReturnPageShape_WhenPagedIsRequested() throws Exception {
+        mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("paged", "true")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Mug 3")))
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.page.totalPages").value(2))
+                .andExpect(jsonPath("$.page.number").value(1));
+    }
+
+    @Test
+    void browseByCategoryId_ShouldReturnEmptyList_WhenCategoryHasNoProducts() throws Exception {
+        ProductCategory emptyCategory = new ProductCategory();
+        emptyCategory.setCategoryName("Empty");
+        productCategoryRepository.save(emptyCategory);
+
+        mockMvc.perform(get("/products/search/browseByCategoryId").param("id", emptyCategory.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products").isEmpty());
+    }
+
+    @Test
+    void browseByCategoryId_ShouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void browseByCategoryId_ShouldRejectCursorFromAnotherCategory() throws Exception {
+        String cursor = KeysetCursor.of(category.getId() + 1, 1L).encode();
+
+        mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void browseByCategoryId_ShouldRecordSqlStatementsPerEndpoint() throws Exception {
+        long requestsBefore = sqlStatementSummaries().stream().mapToLong(DistributionSummary::count).sum();
+        double statementsBefore = sqlStatementSummaries().stream().mapToDouble(DistributionSummary::totalAmount).sum();
+
+        mockMvc.perform(get("/products/search/browseByCategoryId")
+                        .param("id", category.getId().toString())
+                        .param("size", "2"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, sqlStatementSummaries().stream().mapToLong(DistributionSummary::count).sum() - requestsBefore);
+        // The conditional GET validator and the keyset page
+        assertEquals(2, sqlStatementSummaries().stream().mapToDouble(DistributionSummary::totalAmount).sum()
+                - statementsBefore);
+    }
+
+    private Collection<DistributionSummary> sqlStatementSummaries() {
+        return meterRegistry.find("http.server.requests.sql.statements").tag("method", "GET").summaries();
+    }
+
+    private void createProduct(String name, ProductCategory productCategory) {
+        Product product = new Product();
+        product.setSku(name.toUpperCase().replace(' ', '-'));
+        product.setName(name);
+        product.setDescription(name);
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setActive(true);
+        product.setUnitsInStock(10);
+        product.setCategory(productCategory);
+        productRepository.save(product);
+    }
+}
@@ -0,0 +1,55 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.entity.ProductCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductCategoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    private ProductCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = new ProductCategory();
+        category.setCategoryName("Category Test");
+        productCategoryRepository.save(category);
+    }
+
+    @Test
+    void findAll_ShouldKeepProductCategoryShape() throws Exception {
+        mockMvc.perform(get("/product-category").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.productCategory[*].categoryName", hasItem("Category Test")))
+                .andExpect(jsonPath("$._embedded.productCategory[-1].id").value(category.getId()))
+                .andExpect(jsonPath("$._embedded.productCategory[-1]._links.self.href",
+                        endsWith("/product-category/" + category.getId())));
+    }
+
+    @Test
+    void findById_ShouldStillReturnCategory() throws Exception {
+        mockMvc.perform(get("/product-category/{id}", category.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryName").value("Category Test"));
+    }
+}
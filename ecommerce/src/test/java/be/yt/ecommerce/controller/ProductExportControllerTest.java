@@ -0,0 +1,152 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ProductCategory mugs;
+
+    private ProductCategory pads;
+
+    @BeforeEach
+    void setUp() {
+        mugs = createCategory("Mugs");
+        pads = createCategory("Pads");
+        createProduct("Coffee Mug", "A mug, for \"coffee\"", mugs);
+        createProduct("Mouse Pad", "Flat", pads);
+        createProduct("Travel Mug", "Insulated", mugs);
+    }
+
+    @Test
+    void export_ShouldStreamNdjsonLines() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/products/export").param("categoryId", mugs.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""))
+                .andReturn().getResponse();
+
+        List<String> lines = response.getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("Coffee Mug", first.get("name").asText());
+        assertEquals("A mug, for \"coffee\"", first.get("description").asText());
+        assertEquals(mugs.getId(), first.get("categoryId").asLong());
+        assertEquals("Travel Mug", objectMapper.readTree(lines.get(1)).get("name").asText());
+    }
+
+    @Test
+    void export_ShouldWriteCsvWithQuotedFields() throws Exception {
+        String csv = mockMvc.perform(get("/products/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = csv.lines().toList();
+        assertEquals("id,sku,name,description,unitPrice,imageUrl,active,unitsInStock,categoryId,dateCreated,lastUpdated",
+                lines.get(0));
+        assertEquals(4, lines.size());
+        assertEquals(true, lines.get(1).contains(",COFFEE-MUG,Coffee Mug,\"A mug, for \"\"coffee\"\"\",9.99,,true,10,"));
+    }
+
+    @Test
+    void export_ShouldFilterByUpdatedSince() throws Exception {
+        jdbcTemplate.update("update product set last_updated = '2020-01-01 00:00:00' where name <> 'Mouse Pad'");
+
+        String ndjson = mockMvc.perform(get("/products/export").param("updatedSince", "2021-01-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> names = ndjson.lines().map(line -> readName(line)).toList();
+        assertEquals(List.of("Mouse Pad"), names);
+    }
+
+    @Test
+    void export_ShouldGzip_WhenClientAcceptsIt() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/products/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(3, new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count());
+        }
+    }
+
+    @Test
+    void export_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String readName(String line) {
+        try {
+            return objectMapper.readTree(line).get("name").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProductCategory createCategory(String name) {
+        ProductCategory category = new ProductCategory();
+        category.setCategoryName(name);
+        return productCategoryRepository.save(category);
+    }
+
+    private void createProduct(String name, String description, ProductCategory category) {
+        Product product = new Product();
+        product.setSku(name.toUpperCase().replace(' ', '-'));
+        product.setName(name);
+        product.setDescription(description);
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setActive(true);
+        product.setUnitsInStock(10);
+        product.setCategory(category);
+        productRepository.saveAndFlush(product);
+    }
+}
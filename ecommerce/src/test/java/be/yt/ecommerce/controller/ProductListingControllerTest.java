@@ -0,0 +1,106 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductListingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    private ProductCategory category;
+
+    private Product mug;
+
+    @BeforeEach
+    void setUp() {
+        category = new ProductCategory();
+        category.setCategoryName("Listing Test");
+        productCategoryRepository.save(category);
+
+        ProductCategory otherCategory = new ProductCategory();
+        otherCategory.setCategoryName("Other");
+        productCategoryRepository.save(otherCategory);
+
+        mug = createProduct("Mug", category);
+        createProduct("Pad", otherCategory);
+        createProduct("Cup", category);
+    }
+
+    @Test
+    void findByCategoryId_ShouldReturnListingFieldsOnly() throws Exception {
+        mockMvc.perform(get("/products/search/findByCategoryId").param("id", category.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Mug", "Cup")))
+                .andExpect(jsonPath("$._embedded.products[0].id").value(mug.getId()))
+                .andExpect(jsonPath("$._embedded.products[0].unitPrice").value(9.99))
+                .andExpect(jsonPath("$._embedded.products[0].imageUrl").value("assets/mug.png"))
+                .andExpect(jsonPath("$._embedded.products[0].categoryId").value(category.getId()))
+                .andExpect(jsonPath("$._embedded.products[0].description").doesNotExist())
+                .andExpect(jsonPath("$._embedded.products[0]._links.self.href", endsWith("/products/" + mug.getId())))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    @Test
+    void findByCategoryId_ShouldReturnEmptyList_WhenCategoryHasNoProducts() throws Exception {
+        mockMvc.perform(get("/products/search/findByCategoryId").param("id", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products").isEmpty())
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    void findAll_ShouldPageAndSortListings() throws Exception {
+        mockMvc.perform(get("/products").param("sort", "name").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Cup", "Mug")))
+                .andExpect(jsonPath("$.page.totalPages").value(2));
+    }
+
+    @Test
+    void findById_ShouldStillReturnFullProduct() throws Exception {
+        mockMvc.perform(get("/products/{id}", mug.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("Mug description"))
+                .andExpect(jsonPath("$.unitsInStock").value(10));
+    }
+
+    private Product createProduct(String name, ProductCategory productCategory) {
+        Product product = new Product();
+        product.setSku(name.toUpperCase());
+        product.setName(name);
+        product.setDescription(name + " description");
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setImageUrl("assets/" + name.toLowerCase() + ".png");
+        product.setActive(true);
+        product.setUnitsInStock(10);
+        product.setCategory(productCategory);
+        return productRepository.save(product);
+    }
+}
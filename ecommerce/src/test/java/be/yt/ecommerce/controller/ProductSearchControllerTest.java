@@ -0,0 +1,112 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.dao.ProductCategoryRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import be.yt.ecommerce.service.ProductSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    private Product travelMug;
+
+    @BeforeEach
+    void setUp() {
+        ProductCategory category = new ProductCategory();
+        category.setCategoryName("Search Test");
+        productCategoryRepository.save(category);
+
+        createProduct("ST-001", "Coffee Mug", "Ceramic mug for your coffee", category);
+        travelMug = createProduct("ST-002", "Travel Mug", "Insulated mug", category);
+        createProduct("ST-003", "Mouse Pad", "A pad that goes well with a coffee mug", category);
+
+        productSearchService.refresh();
+        productSearchService.refresh();
+        productSearchService.reconcile();
+    }
+
+    @Test
+    void findByNameContaining_ShouldReturnRankedProductsFromIndex() throws Exception {
+        mockMvc.perform(get("/products/search/findByNameContaining").param("name", "mug"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Coffee Mug", "Travel Mug", "Mouse Pad")))
+                .andExpect(jsonPath("$.page.totalElements").value(3));
+    }
+
+    @Test
+    void findByNameContaining_ShouldPaginate() throws Exception {
+        mockMvc.perform(get("/products/search/findByNameContaining")
+                        .param("name", "mug")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Mouse Pad")))
+                .andExpect(jsonPath("$.page.number").value(1))
+                .andExpect(jsonPath("$.page.totalPages").value(2));
+    }
+
+    @Test
+    void findByNameContaining_ShouldReturnEmptyPage_WhenNoMatches() throws Exception {
+        mockMvc.perform(get("/products/search/findByNameContaining").param("name", "nonexistent"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    void findByNameContaining_ShouldNotCountProductsDeletedAfterReconcile() throws Exception {
+        // Arrange
+        productRepository.delete(travelMug);
+        productRepository.flush();
+
+        // Act
+        productSearchService.refresh();
+        productSearchService.reconcile();
+
+        // Assert
+        mockMvc.perform(get("/products/search/findByNameContaining").param("name", "mug"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.products[*].name", contains("Coffee Mug", "Mouse Pad")))
+                .andExpect(jsonPath("$.page.totalElements").value(2));
+    }
+
+    private Product createProduct(String sku, String name, String description, ProductCategory category) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setName(name);
+        product.setDescription(description);
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setActive(true);
+        product.setUnitsInStock(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
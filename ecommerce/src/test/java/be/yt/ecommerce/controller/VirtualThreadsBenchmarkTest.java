@@ -0,0 +1,153 @@
+package be.yt.ecommerce.controller;
+
+import be.yt.ecommerce.EcommerceApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serves product reads through the full web and JPA stack while every JDBC statement takes
+ * {@code benchmark.dbLatencyMillis}, once on a small platform thread pool and once on virtual threads
+ * with a larger connection pool.
+ */
+@Tag("benchmark")
+class VirtualThreadsBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 100);
+    private static final long DB_LATENCY_MILLIS = Long.getLong("benchmark.dbLatencyMillis", 200);
+    private static final long DURATION_MILLIS = Long.getLong("benchmark.durationMillis", 5_000);
+    // Scaled down so a small build machine runs out of request threads long before it runs out of CPU
+    private static final int PLATFORM_THREADS = Integer.getInteger("benchmark.platformThreads", 8);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 64);
+    private static final Set<Class<?>> SLOWED_TYPES =
+            Set.of(Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    @Test
+    void serve_VirtualThreadsShouldNotBeLimitedByThreadPool() throws Exception {
+        // Act
+        Result platform = measure(false);
+        Result virtual = measure(true);
+        System.out.printf("%-10s %10s %14s %14s%n", "mode", "req/s", "mean (ms)", "p99 (ms)");
+        System.out.printf("%-10s %10.0f %14.1f %14d%n", "platform", platform.throughput(), platform.meanMillis(), platform.p99Millis());
+        System.out.printf("%-10s %10.0f %14.1f %14d%n", "virtual", virtual.throughput(), virtual.meanMillis(), virtual.p99Millis());
+
+        // Assert
+        assertTrue(virtual.throughput() > platform.throughput() * 2,
+                "expected the connection pool, not the thread pool, to limit virtual threads");
+    }
+
+    private Result measure(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(EcommerceApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new SlowDatabase()));
+
+        // Arguments rather than default properties, which application.properties would override
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + PLATFORM_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.datasource.url=jdbc:h2:mem:virtual-threads-" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--ecommerce.search.enabled=false",
+                "--ecommerce.concurrency-limit.enabled=false",
+                "--logging.level.root=warn")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("insert into product_category (category_name) values ('Benchmark')");
+            jdbcTemplate.update("insert into product (category_id, name, unit_price, active, units_in_stock) "
+                    + "select max(id), 'Mug', 9.99, true, 100 from product_category");
+            Long productId = jdbcTemplate.queryForObject("select max(id) from product", Long.class);
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/products/" + productId);
+            return load(uri);
+        }
+    }
+
+    private Result load(URI uri) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (System.currentTimeMillis() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                        latencies.add((System.nanoTime() - start) / 1_000_000);
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                latencies.addAll(result.get());
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(sorted.length * 1000.0 / DURATION_MILLIS,
+                    Arrays.stream(sorted).average().orElse(0),
+                    sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99)]);
+        }
+    }
+
+    private record Result(double throughput, double meanMillis, long p99Millis) {
+    }
+
+    /**
+     * Delays every statement execution, as a remote database under load would.
+     */
+    private static class SlowDatabase implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return slow(dataSource, DataSource.class);
+            }
+            return bean;
+        }
+
+        private static Object slow(Object target, Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(DB_LATENCY_MILLIS);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return result != null && SLOWED_TYPES.contains(method.getReturnType())
+                        ? slow(result, method.getReturnType())
+                        : result;
+            });
+        }
+    }
+}
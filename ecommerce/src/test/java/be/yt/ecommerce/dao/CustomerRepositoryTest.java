@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 
@@ -83,7 +84,8 @@ class CustomerRepositoryTest {
         // Act
         Customer savedCustomer = customerRepository.save(customer);
         
-        // Clear persistence context to force a database read
+        // Flush pending inserts and clear persistence context to force a database read
+        entityManager.flush();
         entityManager.clear();
 
         // Assert
@@ -96,4 +98,35 @@ class CustomerRepositoryTest {
         assertEquals(2, foundOrder.getTotalQuantity());
         assertEquals(foundCustomer, foundOrder.getCustomer());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findIdByEmail_ShouldReturnIdOfCustomerWithEmail() {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setFirstName("Bob");
+        customer.setLastName("Brown");
+        customer.setEmail("bob.brown@example.com");
+        Long id = entityManager.persistAndGetId(customer, Long.class);
+
+        // Act
+        Optional<Long> result = customerRepository.findIdByEmail("bob.brown@example.com");
+
+        // Assert
+        assertEquals(Optional.of(id), result);
+        assertTrue(customerRepository.findIdByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void save_ShouldRejectSecondCustomerWithSameEmail() {
+        // Arrange
+        Customer first = new Customer();
+        first.setEmail("carol@example.com");
+        customerRepository.saveAndFlush(first);
+
+        Customer second = new Customer();
+        second.setEmail("carol@example.com");
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> customerRepository.saveAndFlush(second));
+    }
+}
@@ -0,0 +1,86 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.entity.IdempotencyRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class IdempotencyRecordRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    void saveAndFlush_ShouldRejectDuplicateClaim() {
+        // Arrange
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-1", NOW, NOW.plusSeconds(60)));
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> recordRepository.saveAndFlush(new IdempotencyRecord("key-1", NOW, NOW.plusSeconds(60))));
+    }
+
+    @Test
+    void save_ShouldUpdateLoadedRecord() {
+        // Arrange
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-1", NOW, NOW.plusSeconds(60)));
+        entityManager.clear();
+
+        // Act
+        IdempotencyRecord record = recordRepository.findById("key-1").orElseThrow();
+        record.setOrderTrackingNumber("tracking-1");
+        recordRepository.saveAndFlush(record);
+        entityManager.clear();
+
+        // Assert
+        IdempotencyRecord found = recordRepository.findById("key-1").orElseThrow();
+        assertTrue(found.isCompleted());
+        assertEquals("tracking-1", found.getOrderTrackingNumber());
+    }
+
+    @Test
+    void deleteExpired_ShouldOnlyRemoveExpiredRecords() {
+        // Arrange
+        recordRepository.save(new IdempotencyRecord("expired", NOW.minusSeconds(120), NOW.minusSeconds(60)));
+        recordRepository.save(new IdempotencyRecord("active", NOW, NOW.plusSeconds(60)));
+        entityManager.flush();
+
+        // Act
+        int deleted = recordRepository.deleteExpired(NOW);
+
+        // Assert
+        assertEquals(1, deleted);
+        assertFalse(recordRepository.existsById("expired"));
+        assertTrue(recordRepository.existsById("active"));
+    }
+
+    @Test
+    void takeOver_ShouldSucceedOnlyOncePerClaim() {
+        // Arrange
+        Instant claimedAt = NOW.minusSeconds(300);
+        recordRepository.saveAndFlush(new IdempotencyRecord("key-1", claimedAt, NOW.plusSeconds(60)));
+        entityManager.clear();
+
+        // Act
+        int first = recordRepository.takeOver("key-1", claimedAt, NOW);
+        int second = recordRepository.takeOver("key-1", claimedAt, NOW.plusSeconds(1));
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(NOW, recordRepository.findById("key-1").orElseThrow().getCreatedAt());
+    }
+}
@@ -0,0 +1,98 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.config.QueryInstrumentationConfig;
+import be.yt.ecommerce.dto.OrderSummary;
+import be.yt.ecommerce.entity.Customer;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static be.yt.ecommerce.QueryAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(QueryInstrumentationConfig.class)
+class OrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setFirstName("Jane");
+        customer.setLastName("Doe");
+        customer.setEmail("jane@example.com");
+        entityManager.persist(customer);
+
+        for (int i = 1; i <= 3; i++) {
+            Order order = new Order();
+            order.setOrderTrackingNumber("T" + i);
+            order.setStatus("created");
+            order.setTotalPrice(new BigDecimal("9.99"));
+            order.setTotalQuantity(1);
+            order.setCustomer(customer);
+            OrderItem item = new OrderItem();
+            item.setProductId(1L);
+            item.setQuantity(1);
+            order.add(item);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findHistory_ShouldReadSummariesInOneStatement() {
+        // Act
+        List<OrderSummary> history = assertStatements(1, () -> orderRepository.findHistory(customer.getId(), Limit.of(2)));
+
+        // Assert
+        assertEquals(2, history.size());
+        assertEquals(history.stream()
+                .sorted(Comparator.comparing(OrderSummary::dateCreated).thenComparing(OrderSummary::id).reversed())
+                .toList(), history);
+    }
+
+    @Test
+    void findHistoryBefore_ShouldContinueAfterLastOrder() {
+        // Arrange
+        List<OrderSummary> firstPage = orderRepository.findHistory(customer.getId(), Limit.of(2));
+        OrderSummary last = firstPage.get(1);
+
+        // Act
+        List<OrderSummary> nextPage = orderRepository.findHistoryBefore(customer.getId(), last.dateCreated(), last.id(),
+                Limit.of(2));
+
+        // Assert
+        assertEquals(1, nextPage.size());
+        assertTrue(firstPage.stream().noneMatch(summary -> summary.id().equals(nextPage.get(0).id())));
+    }
+
+    @Test
+    void findHistory_ShouldUseCoveringIndex() {
+        // Act
+        String plan = (String) entityManager.getEntityManager().createNativeQuery("""
+                        explain select id, order_tracking_number, status, total_price, total_quantity, date_created
+                        from orders where customer_id = 1 order by date_created desc, id desc""")
+                .getSingleResult();
+
+        // Assert
+        assertTrue(plan.toLowerCase().contains("idx_orders_customer_history"), plan);
+    }
+}
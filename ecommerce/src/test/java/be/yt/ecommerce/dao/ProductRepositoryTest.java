@@ -1,5 +1,8 @@
 package be.yt.ecommerce.dao;
 
+import be.yt.ecommerce.config.QueryInstrumentationConfig;
+import be.yt.ecommerce.dto.ProductListing;
+import be.yt.ecommerce.dto.ProductPrice;
 import be.yt.ecommerce.entity.Product;
 import be.yt.ecommerce.entity.ProductCategory;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,16 +10,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
+import static be.yt.ecommerce.QueryAssertions.assertStatements;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(QueryInstrumentationConfig.class)
 class ProductRepositoryTest {
 
     @Autowired
@@ -123,6 +131,78 @@ class ProductRepositoryTest {
         assertTrue(result.getContent().isEmpty());
     }
 
+    @Test
+    void findListingsByCategoryIdAfter_ShouldSeekPastLastSeenId() {
+        // Arrange
+        List<ProductListing> firstPage = productRepository.findListingsByCategoryIdAfter(category1.getId(), 0L, Limit.of(2));
+
+        // Act
+        List<ProductListing> secondPage = productRepository.findListingsByCategoryIdAfter(
+                category1.getId(), firstPage.get(1).id(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of("Smartphone", "Laptop"), firstPage.stream().map(ProductListing::name).toList());
+        assertEquals(List.of("Tablet"), secondPage.stream().map(ProductListing::name).toList());
+    }
+
+    @Test
+    void findListingsByCategoryId_ShouldLoadPageAndCountOnly() {
+        // Arrange
+        entityManager.clear();
+
+        // Act
+        Page<ProductListing> result = assertStatements(2,
+                () -> productRepository.findListingsByCategoryId(category1.getId(), PageRequest.of(0, 2, Sort.by("name"))));
+
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of("Laptop", "Smartphone"), result.getContent().stream().map(ProductListing::name).toList());
+        assertEquals(category1.getId(), result.getContent().get(0).categoryId());
+        assertEquals(new BigDecimal("1299.99"), result.getContent().get(0).unitPrice());
+        assertEquals("laptop.jpg", result.getContent().get(0).imageUrl());
+    }
+
+    @Test
+    void findListingsByNameContaining_ShouldReturnMatchingProducts() {
+        // Act
+        Page<ProductListing> result = productRepository.findListingsByNameContaining("top", PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Laptop", result.getContent().get(0).name());
+    }
+
+    @Test
+    void findPrices_ShouldReturnPricesOfRequestedProducts() {
+        // Arrange
+        List<Product> products = productRepository.findAll();
+        Product laptop = products.stream().filter(p -> p.getName().equals("Laptop")).findFirst().orElseThrow();
+        Product book = products.stream().filter(p -> p.getName().equals("Java Programming")).findFirst().orElseThrow();
+
+        // Act
+        List<ProductPrice> prices = productRepository.findPrices(List.of(laptop.getId(), book.getId(), -1L));
+
+        // Assert
+        assertEquals(2, prices.size());
+        assertTrue(prices.contains(new ProductPrice(laptop.getId(), new BigDecimal("1299.99"))));
+        assertTrue(prices.contains(new ProductPrice(book.getId(), new BigDecimal("39.99"))));
+    }
+
+    @Test
+    void findByCategoryId_ShouldFetchSharedCategoryOnce() {
+        // Arrange
+        entityManager.clear();
+
+        // Act
+        // Page, count and the eagerly fetched category, which all three products share
+        Page<Product> result = assertStatements(3,
+                () -> productRepository.findByCategoryId(category1.getId(), PageRequest.of(0, 2)));
+
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getContent().size());
+    }
+
     private Product createProduct(String sku, String name, String description, BigDecimal price, 
                                  String imageUrl, boolean active, int stock, ProductCategory category) {
         Product product = new Product();
@@ -0,0 +1,177 @@
+package be.yt.ecommerce.dao;
+
+import be.yt.ecommerce.entity.Country;
+import be.yt.ecommerce.entity.Product;
+import be.yt.ecommerce.entity.ProductCategory;
+import be.yt.ecommerce.entity.State;
+import be.yt.ecommerce.service.CatalogCacheInvalidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static be.yt.ecommerce.QueryAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "ecommerce.second-level-cache.enabled=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Country belgium;
+
+    @BeforeEach
+    void setUp() {
+        belgium = new Country();
+        belgium.setCode("BE");
+        belgium.setName("Belgium");
+        countryRepository.save(belgium);
+        createState("Antwerpen");
+        createState("Limburg");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from state");
+        jdbcTemplate.update("delete from country");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+        cacheInvalidator.evictAll();
+    }
+
+    @Test
+    void findByCountryCode_ShouldBeServedFromQueryCache() {
+        // Arrange
+        stateRepository.findByCountryCode("BE");
+
+        // Act
+        List<State> states = assertStatements(0, () -> stateRepository.findByCountryCode("BE"));
+
+        // Assert
+        assertEquals(List.of("Antwerpen", "Limburg"), states.stream().map(State::getName).sorted().toList());
+        assertEquals("Belgium", states.get(0).getCountry().getName());
+    }
+
+    @Test
+    void findByCountryCode_ShouldSeeStatesSavedThroughRepository() {
+        // Arrange
+        stateRepository.findByCountryCode("BE");
+
+        // Act
+        createState("Namen");
+
+        // Assert
+        assertEquals(3, stateRepository.findByCountryCode("BE").size());
+    }
+
+    @Test
+    void findById_ShouldBeServedFromEntityCache() {
+        // Arrange
+        Long productId = createProduct("Coffee Mug");
+        cacheInvalidator.evictAll();
+        productRepository.findById(productId);
+
+        // Act
+        Product product = assertStatements(0, () -> productRepository.findById(productId).orElseThrow());
+
+        // Assert
+        assertEquals("Coffee Mug", product.getName());
+        assertEquals("Mugs", product.getCategory().getCategoryName());
+    }
+
+    @Test
+    void productChanged_ShouldDropProductUpdatedOutsideHibernate() {
+        // Arrange
+        Long productId = createProduct("Coffee Mug");
+        productRepository.findById(productId);
+        jdbcTemplate.update("update product set name = 'Tea Mug' where id = ?", productId);
+        assertEquals("Coffee Mug", productRepository.findById(productId).orElseThrow().getName());
+
+        // Act
+        cacheInvalidator.productChanged(productId);
+
+        // Assert
+        assertEquals("Tea Mug", productRepository.findById(productId).orElseThrow().getName());
+    }
+
+    @Test
+    void categoriesChanged_ShouldDropCachedCategoryListings() {
+        // Arrange
+        createProduct("Coffee Mug");
+        categoryRepository.findListings();
+        jdbcTemplate.update("update product_category set category_name = 'Cups'");
+
+        // Act
+        cacheInvalidator.categoriesChanged();
+
+        // Assert
+        assertEquals("Cups", categoryRepository.findListings().get(0).categoryName());
+    }
+
+    @Test
+    void secondLevelCache_ShouldPublishHitsPerRegion() {
+        // Arrange
+        Long productId = createProduct("Coffee Mug");
+        cacheInvalidator.evictAll();
+
+        // Act
+        productRepository.findById(productId);
+        productRepository.findById(productId);
+
+        // Assert
+        double hits = meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "product")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+        assertTrue(hits >= 1);
+    }
+
+    private void createState(String name) {
+        State state = new State();
+        state.setName(name);
+        state.setCountry(belgium);
+        stateRepository.save(state);
+    }
+
+    private Long createProduct(String name) {
+        ProductCategory category = new ProductCategory();
+        category.setCategoryName("Mugs");
+        categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setSku(name.toUpperCase());
+        product.setName(name);
+        product.setUnitPrice(new BigDecimal("9.99"));
+        product.setCategory(category);
+        return productRepository.save(product).getId();
+    }
+}
@@ -0,0 +1,100 @@
+package be.yt.ecommerce.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    void next_ShouldEncodeTimestampAndNodeId() {
+        // Arrange
+        long now = TimeOrderedIds.EPOCH + 1_000;
+        TimeOrderedIds ids = new TimeOrderedIds(7, () -> now);
+
+        // Act
+        long id = ids.next();
+
+        // Assert
+        assertEquals(1_000, id >>> (TimeOrderedIds.NODE_BITS + TimeOrderedIds.SEQUENCE_BITS));
+        assertEquals(7, (id >>> TimeOrderedIds.SEQUENCE_BITS) & TimeOrderedIds.MAX_NODE_ID);
+    }
+
+    @Test
+    void next_ShouldStayIncreasing_WhenClockStepsBack() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(TimeOrderedIds.EPOCH + 5_000);
+        TimeOrderedIds ids = new TimeOrderedIds(1, clock::get);
+        long first = ids.next();
+
+        // Act
+        clock.set(TimeOrderedIds.EPOCH + 1_000);
+        long second = ids.next();
+
+        // Assert
+        assertTrue(second > first);
+    }
+
+    @Test
+    void next_ShouldBorrowNextMillisecond_WhenSequenceIsExhausted() {
+        // Arrange
+        TimeOrderedIds ids = new TimeOrderedIds(1, () -> TimeOrderedIds.EPOCH);
+        long previous = ids.next();
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            long id = ids.next();
+            assertTrue(id > previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void next_ShouldBeUniqueAcrossThreads() throws InterruptedException {
+        // Arrange
+        TimeOrderedIds ids = new TimeOrderedIds(3, System::currentTimeMillis);
+        Set<Long> generated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    generated.add(ids.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(80_000, generated.size());
+    }
+
+    @Test
+    void timeOrderedId_ShouldSerializeAsString() throws Exception {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setId(new TimeOrderedIds(1, System::currentTimeMillis).next());
+
+        // Act
+        String json = new ObjectMapper().writeValueAsString(customer);
+
+        // Assert
+        assertTrue(customer.getId() > (1L << 53));
+        assertTrue(json.contains("\"id\":\"" + customer.getId() + "\""), json);
+    }
+
+    @Test
+    void constructor_ShouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(1024, System::currentTimeMillis));
+    }
+}
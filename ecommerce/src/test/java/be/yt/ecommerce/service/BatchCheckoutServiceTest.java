@@ -0,0 +1,114 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.BatchPurchaseResult;
+import be.yt.ecommerce.dto.Purchase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ecommerce.checkout.batch.chunk-size=4",
+        "ecommerce.checkout.batch.max-purchases=20"
+})
+class BatchCheckoutServiceTest {
+
+    @Autowired
+    private BatchCheckoutService batchCheckoutService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Long categoryId = createCategory(jdbcTemplate, "Mugs");
+        productId = createProduct(jdbcTemplate, categoryId, "Mug", "18.99", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void placeOrders_ShouldWriteOneTransactionPerChunk() {
+        // Arrange
+        List<Purchase> purchases = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            purchases.add(purchase(item(productId, 1)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<BatchPurchaseResult> results = batchCheckoutService.placeOrders(purchases);
+
+        // Assert
+        assertEquals(10, results.size());
+        results.forEach(result -> {
+            assertEquals(200, result.status());
+            assertNotNull(result.orderTrackingNumber());
+        });
+        assertEquals(10, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+        assertEquals(3, statistics.getSuccessfulTransactionCount());
+    }
+
+    @Test
+    void placeOrders_ShouldReportEachFailureInOrderWithoutAbortingBatch() {
+        // Arrange
+        Purchase noItems = purchase(item(productId, 1));
+        noItems.setOrderItems(Set.of());
+        Purchase notForSale = purchase(item(-1L, 1));
+        Purchase tooMuch = purchase(item(productId, 1));
+        tooMuch.getOrderItems().iterator().next().setQuantity(1_000);
+        List<Purchase> purchases = List.of(purchase(item(productId, 1)), noItems, purchase(item(productId, 1)),
+                notForSale, tooMuch, purchase(item(productId, 1)));
+
+        // Act
+        List<BatchPurchaseResult> results = batchCheckoutService.placeOrders(purchases);
+
+        // Assert
+        assertEquals(List.of(200, 400, 200, 400, 409, 200), results.stream().map(BatchPurchaseResult::status).toList());
+        assertEquals("Order has no items", results.get(1).error());
+        assertEquals("Product -1 is not for sale", results.get(3).error());
+        assertNull(results.get(4).orderTrackingNumber());
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+        assertEquals(97, jdbcTemplate.queryForObject("select sum(units) from inventory_shard", Integer.class));
+    }
+
+    @Test
+    void placeOrders_ShouldRejectBatchOverMaximum() {
+        // Arrange
+        List<Purchase> purchases = Collections.nCopies(21, purchase(item(productId, 1)));
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> batchCheckoutService.placeOrders(purchases));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+    }
+}
@@ -0,0 +1,122 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.ProductListing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static be.yt.ecommerce.QueryAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "ecommerce.catalog.enabled=true",
+        "ecommerce.catalog.refresh-interval=1h",
+        "ecommerce.catalog.batch-size=2"
+})
+class CatalogServiceTest {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into product_category (category_name) values ('Mugs')");
+        categoryId = jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void findByCategoryId_ShouldServeFromSnapshotWithoutQueries() {
+        // Arrange
+        createProduct("Coffee Mug", "12.50");
+        createProduct("Travel Mug", "19.99");
+        createProduct("Tea Mug", "9.99");
+        catalogService.refresh();
+
+        // Act
+        Page<ProductListing> page = assertStatements(0,
+                () -> catalogService.findByCategoryId(categoryId, PageRequest.of(0, 2, Sort.by("unitPrice"))));
+
+        // Assert
+        assertEquals(List.of("Tea Mug", "Coffee Mug"), page.getContent().stream().map(ProductListing::name).toList());
+        assertEquals(3, page.getTotalElements());
+        assertTrue(catalogService.findCategories().stream().anyMatch(category -> category.id().equals(categoryId)));
+    }
+
+    @Test
+    void refresh_ShouldPickUpUpdatedAndNewProducts() {
+        // Arrange
+        Long mug = createProduct("Coffee Mug", "12.50");
+        catalogService.refresh();
+        jdbcTemplate.update("update product set unit_price = 14.00, last_updated = ? where id = ?",
+                new Date(System.currentTimeMillis() + 1_000), mug);
+        Long cup = createProduct("Espresso Cup", "6.00");
+
+        // Act
+        catalogService.refresh();
+
+        // Assert
+        List<ProductListing> listings = catalogService.findByCategoryIdAfter(categoryId, 0L, 10);
+        assertEquals(List.of(mug, cup), listings.stream().map(ProductListing::id).toList());
+        assertEquals(0, new BigDecimal("14.00").compareTo(listings.get(0).unitPrice()));
+    }
+
+    @Test
+    void reload_ShouldDropDeletedProducts() {
+        // Arrange
+        Long mug = createProduct("Coffee Mug", "12.50");
+        Long cup = createProduct("Espresso Cup", "6.00");
+        catalogService.refresh();
+        jdbcTemplate.update("delete from product where id = ?", cup);
+
+        // Act
+        catalogService.reload();
+
+        // Assert
+        List<ProductListing> listings = catalogService.findByCategoryIdAfter(categoryId, 0L, 10);
+        assertEquals(List.of(mug), listings.stream().map(ProductListing::id).toList());
+        assertEquals(1, catalogService.findProductVersion(categoryId).count());
+    }
+
+    @Test
+    void findByCategoryId_ShouldQueryDatabase_WhenSortHasNoIndex() {
+        // Arrange
+        createProduct("Travel Mug", "19.99");
+        createProduct("Coffee Mug", "12.50");
+        catalogService.refresh();
+
+        // Act
+        Page<ProductListing> page = assertStatements(1,
+                () -> catalogService.findByCategoryId(categoryId, PageRequest.of(0, 10, Sort.by("name"))));
+
+        // Assert
+        assertEquals(List.of("Coffee Mug", "Travel Mug"), page.getContent().stream().map(ProductListing::name).toList());
+    }
+
+    private Long createProduct(String name, String price) {
+        jdbcTemplate.update("insert into product (category_id, name, unit_price, active, units_in_stock, last_updated) "
+                + "values (?, ?, ?, true, 10, current_timestamp)", categoryId, name, new BigDecimal(price));
+        return jdbcTemplate.queryForObject("select max(id) from product", Long.class);
+    }
+}
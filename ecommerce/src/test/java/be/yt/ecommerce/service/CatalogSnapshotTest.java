@@ -0,0 +1,117 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.CategoryListing;
+import be.yt.ecommerce.dto.ProductListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.empty().withChanges(List.of(
+            listing(3L, "Laptop", "1299.99", 1L),
+            listing(1L, "Smartphone", "799.99", 1L),
+            listing(2L, "Java Programming", "39.99", 2L),
+            listing(4L, "Tablet", "499.99", 1L),
+            listing(5L, "Spring Boot Guide", "44.99", 2L)
+    ), List.of(new CategoryListing(1L, "Electronics", new Date(500)), new CategoryListing(2L, "Books", null)),
+            new Date(1_000));
+
+    @Test
+    void findAll_ShouldPageInIdOrder() {
+        // Act
+        Page<ProductListing> page = snapshot.findAll(PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(List.of(3L, 4L), ids(page));
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+    }
+
+    @Test
+    void findAll_ShouldSortByPrice() {
+        // Act
+        Page<ProductListing> ascending = snapshot.findAll(PageRequest.of(0, 3, Sort.by("unitPrice")));
+        Page<ProductListing> descending = snapshot.findAll(PageRequest.of(0, 3, Sort.by("unitPrice").descending()));
+
+        // Assert
+        assertEquals(List.of(2L, 5L, 4L), ids(ascending));
+        assertEquals(List.of(3L, 1L, 4L), ids(descending));
+    }
+
+    @Test
+    void findByCategoryId_ShouldReturnMembersOnly() {
+        // Act
+        Page<ProductListing> byId = snapshot.findByCategoryId(1L, PageRequest.of(0, 10));
+        Page<ProductListing> byPrice = snapshot.findByCategoryId(1L, PageRequest.of(0, 10, Sort.by("unitPrice")));
+        Page<ProductListing> unknown = snapshot.findByCategoryId(9L, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 4L), ids(byId));
+        assertEquals(List.of(4L, 1L, 3L), ids(byPrice));
+        assertEquals(0, unknown.getTotalElements());
+    }
+
+    @Test
+    void findByCategoryId_ShouldReturnWholeCategory_WhenUnpaged() {
+        // Act
+        Page<ProductListing> page = snapshot.findByCategoryId(2L, Pageable.unpaged());
+
+        // Assert
+        assertEquals(List.of(2L, 5L), ids(page));
+    }
+
+    @Test
+    void findByCategoryIdAfter_ShouldSeekPastLastSeenId() {
+        // Act
+        List<ProductListing> firstPage = snapshot.findByCategoryIdAfter(1L, 0L, 2);
+        List<ProductListing> secondPage = snapshot.findByCategoryIdAfter(1L, 3L, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), firstPage.stream().map(ProductListing::id).toList());
+        assertEquals(List.of(4L), secondPage.stream().map(ProductListing::id).toList());
+    }
+
+    @Test
+    void withChanges_ShouldLeaveOriginalSnapshotUntouched() {
+        // Act
+        CatalogSnapshot changed = snapshot.withChanges(List.of(
+                listing(2L, "Java Programming", "39.99", 1L),
+                listing(6L, "Monitor", "199.99", 1L)
+        ), snapshot.categories(), new Date(2_000));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L), ids(changed.findByCategoryId(1L, Pageable.unpaged())));
+        assertEquals(List.of(5L), ids(changed.findByCategoryId(2L, Pageable.unpaged())));
+        assertEquals(List.of(1L, 3L, 4L), ids(snapshot.findByCategoryId(1L, Pageable.unpaged())));
+        assertEquals(5, snapshot.size());
+        assertEquals(6, changed.size());
+        assertEquals("\"5-1000\"", snapshot.version().etag());
+        assertEquals("\"6-2000\"", changed.version().etag());
+    }
+
+    @Test
+    void supports_ShouldRejectOrdersWithoutIndex() {
+        // Act & Assert
+        assertTrue(CatalogSnapshot.supports(Sort.unsorted()));
+        assertTrue(CatalogSnapshot.supports(Sort.by("unitPrice").descending()));
+        assertFalse(CatalogSnapshot.supports(Sort.by("name")));
+        assertFalse(CatalogSnapshot.supports(Sort.by("unitPrice", "id")));
+    }
+
+    private static List<Long> ids(Page<ProductListing> page) {
+        return page.getContent().stream().map(ProductListing::id).toList();
+    }
+
+    private static ProductListing listing(Long id, String name, String price, Long categoryId) {
+        return new ProductListing(id, name, new BigDecimal(price), name.toLowerCase() + ".jpg", categoryId);
+    }
+}
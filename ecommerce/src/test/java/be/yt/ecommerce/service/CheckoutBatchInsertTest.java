@@ -0,0 +1,138 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.Address;
+import be.yt.ecommerce.entity.Customer;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ecommerce.inventory.enabled=false"
+})
+@Transactional
+class CheckoutBatchInsertTest {
+
+    private static final int ORDER_LINES = 50;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jdbcTemplate.update("insert into product_category (category_name) values ('Bulk')");
+        Long categoryId = jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+        for (int i = 0; i < ORDER_LINES; i++) {
+            jdbcTemplate.update("insert into product (category_id, name, unit_price, active, units_in_stock) "
+                    + "values (?, ?, 9.99, true, 100)", categoryId, "Bulk item " + i);
+        }
+        productIds = jdbcTemplate.queryForList("select id from product where category_id = ?", Long.class, categoryId);
+    }
+
+    @Test
+    void placeOrder_ShouldBatchInsertsForLargeOrder() {
+        // Arrange
+        placeOrderWithBatchSize(1);
+        placeOrderWithBatchSize(ORDER_LINES);
+        entityManager.clear();
+
+        // Act
+        Measurement unbatched = placeOrderWithBatchSize(1);
+        entityManager.clear();
+        Measurement batched = placeOrderWithBatchSize(ORDER_LINES);
+
+        // Assert
+        System.out.printf("%d-line order: unbatched %d statements in %.2f ms, batched %d statements in %.2f ms%n",
+                ORDER_LINES, unbatched.statements(), unbatched.millis(), batched.statements(), batched.millis());
+        // Price and customer lookups for the whole cart, then the order, its addresses and its lines
+        assertEquals(2 + ORDER_LINES + 3, unbatched.statements());
+        assertTrue(batched.statements() <= 6, "expected a handful of statements but was " + batched.statements());
+    }
+
+    private Measurement placeOrderWithBatchSize(int batchSize) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        Purchase purchase = createPurchase();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        checkoutService.placeOrder(purchase);
+        entityManager.flush();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        return new Measurement(statistics.getPrepareStatementCount(), millis);
+    }
+
+    private Purchase createPurchase() {
+        Customer customer = new Customer();
+        customer.setFirstName("Bulk");
+        customer.setLastName("Buyer");
+        customer.setEmail("bulk.buyer@example.com");
+
+        Order order = new Order();
+        order.setTotalQuantity(ORDER_LINES);
+        order.setTotalPrice(new BigDecimal("9.99").multiply(BigDecimal.valueOf(ORDER_LINES)));
+        order.setStatus("created");
+
+        Set<OrderItem> orderItems = new HashSet<>();
+        for (Long productId : productIds) {
+            OrderItem item = new OrderItem();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            item.setUnitPrice(new BigDecimal("9.99"));
+            orderItems.add(item);
+        }
+
+        Purchase purchase = new Purchase();
+        purchase.setCustomer(customer);
+        purchase.setOrder(order);
+        purchase.setOrderItems(orderItems);
+        purchase.setBillingAddress(createAddress("1 Billing St"));
+        purchase.setShippingAddress(createAddress("2 Shipping St"));
+        return purchase;
+    }
+
+    private Address createAddress(String street) {
+        Address address = new Address();
+        address.setStreet(street);
+        address.setCity("Ghent");
+        address.setCountry("Belgium");
+        address.setZipCode("9000");
+        return address;
+    }
+
+    private record Measurement(long statements, double millis) {
+    }
+}
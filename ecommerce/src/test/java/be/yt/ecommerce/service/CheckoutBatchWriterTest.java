@@ -0,0 +1,63 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutBatchWriterTest {
+
+    @Mock
+    private CheckoutServiceImpl checkoutService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CheckoutBatchWriter batchWriter;
+
+    @BeforeEach
+    void setUp() {
+        batchWriter = new CheckoutBatchWriter(checkoutService, transactionManager);
+    }
+
+    @Test
+    void write_ShouldRetryLonePurchase_WhenItHitsConcurrencyFailure() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        when(checkoutService.persist(purchase)).thenThrow(new CannotAcquireLockException("deadlock"));
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-1"));
+
+        // Act
+        List<CheckoutBatchWriter.Outcome> outcomes = batchWriter.write(List.of(purchase));
+
+        // Assert
+        assertTrue(outcomes.get(0).isSuccess());
+        assertEquals("tracking-1", outcomes.get(0).response().orderTrackingNumber());
+    }
+
+    @Test
+    void write_ShouldFailLonePurchaseWithoutRetry_WhenItIsInvalid() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        InvalidOrderException invalid = new InvalidOrderException("Order has no items");
+        when(checkoutService.persist(purchase)).thenThrow(invalid);
+
+        // Act
+        List<CheckoutBatchWriter.Outcome> outcomes = batchWriter.write(List.of(purchase));
+
+        // Assert
+        assertSame(invalid, outcomes.get(0).error());
+        verify(checkoutService, never()).placeOrder(purchase);
+    }
+}
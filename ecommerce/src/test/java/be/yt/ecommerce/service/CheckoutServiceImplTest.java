@@ -1,6 +1,6 @@
 package be.yt.ecommerce.service;
 
-import be.yt.ecommerce.dao.CustomerRepository;
+import be.yt.ecommerce.dao.OrderRepository;
 import be.yt.ecommerce.dto.Purchase;
 import be.yt.ecommerce.dto.PurchaseResponse;
 import be.yt.ecommerce.entity.Address;
@@ -13,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -26,13 +28,30 @@ import static org.mockito.Mockito.*;
 class CheckoutServiceImplTest {
 
     @Mock
-    private CustomerRepository customerRepository;
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private PricingService pricingService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private RecentWrites recentWrites;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     private CheckoutServiceImpl checkoutService;
 
     @BeforeEach
     void setUp() {
-        checkoutService = new CheckoutServiceImpl(customerRepository);
+        checkoutService = new CheckoutServiceImpl(orderRepository, customerService, pricingService, inventoryService,
+                new TimeOrderedTrackingNumberGenerator(), recentWrites, transactionManager);
+        lenient().when(customerService.findOrCreate(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -97,33 +116,69 @@ class CheckoutServiceImplTest {
     }
     
     @Test
-    void placeOrder_ShouldAddOrderToCustomer() {
+    void placeOrder_ShouldAttachOrderToExistingCustomer() {
+        // Arrange
+        Purchase purchase = createSamplePurchase();
+        Customer existing = new Customer();
+        existing.setId(42L);
+        when(customerService.findOrCreate(purchase.getCustomer())).thenReturn(existing);
+
+        // Act
+        checkoutService.placeOrder(purchase);
+
+        // Assert
+        assertEquals(existing, purchase.getOrder().getCustomer());
+    }
+
+    @Test
+    void placeOrder_ShouldSaveOrder() {
         // Arrange
         Purchase purchase = createSamplePurchase();
-        Customer customer = purchase.getCustomer();
         Order order = purchase.getOrder();
-        
+
         // Act
         checkoutService.placeOrder(purchase);
-        
+
         // Assert
-        assertTrue(customer.getOrders().contains(order));
-        assertEquals(customer, order.getCustomer());
+        verify(orderRepository, times(1)).save(order);
     }
-    
+
     @Test
-    void placeOrder_ShouldSaveCustomer() {
+    void placeOrder_ShouldPricePurchase() {
         // Arrange
         Purchase purchase = createSamplePurchase();
-        Customer customer = purchase.getCustomer();
-        
+
         // Act
         checkoutService.placeOrder(purchase);
-        
+
         // Assert
-        verify(customerRepository, times(1)).save(customer);
+        verify(pricingService).price(purchase);
     }
-    
+
+    @Test
+    void placeOrder_ShouldReserveStockForOrderItems() {
+        // Arrange
+        Purchase purchase = createSamplePurchase();
+
+        // Act
+        checkoutService.placeOrder(purchase);
+
+        // Assert
+        verify(inventoryService).reserve(purchase.getOrderItems());
+    }
+
+    @Test
+    void placeOrder_ShouldNotSaveOrderWhenStockIsInsufficient() {
+        // Arrange
+        Purchase purchase = createSamplePurchase();
+        doThrow(new InsufficientStockException("Not enough stock for product 1"))
+                .when(inventoryService).reserve(purchase.getOrderItems());
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> checkoutService.placeOrder(purchase));
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void placeOrder_ShouldReturnOrderTrackingNumber() {
         // Arrange
@@ -136,6 +191,35 @@ class CheckoutServiceImplTest {
         assertEquals(purchase.getOrder().getOrderTrackingNumber(), response.orderTrackingNumber());
     }
 
+    @Test
+    void placeOrder_ShouldRetryAfterLockConflict() {
+        // Arrange
+        Purchase purchase = createSamplePurchase();
+        doThrow(new CannotAcquireLockException("Deadlock detected"))
+                .doNothing()
+                .when(inventoryService).reserve(purchase.getOrderItems());
+
+        // Act
+        PurchaseResponse response = checkoutService.placeOrder(purchase);
+
+        // Assert
+        assertNotNull(response.orderTrackingNumber());
+        verify(inventoryService, times(2)).reserve(purchase.getOrderItems());
+        verify(orderRepository, times(1)).save(purchase.getOrder());
+    }
+
+    @Test
+    void placeOrder_ShouldGiveUpAfterRepeatedLockConflicts() {
+        // Arrange
+        Purchase purchase = createSamplePurchase();
+        doThrow(new CannotAcquireLockException("Deadlock detected"))
+                .when(inventoryService).reserve(purchase.getOrderItems());
+
+        // Act & Assert
+        assertThrows(CannotAcquireLockException.class, () -> checkoutService.placeOrder(purchase));
+        verify(inventoryService, times(3)).reserve(purchase.getOrderItems());
+    }
+
     private Purchase createSamplePurchase() {
         Customer customer = new Customer();
         customer.setFirstName("John");
@@ -0,0 +1,139 @@
+package be.yt.ecommerce.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class CustomerServiceTest {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Long categoryId = createCategory(jdbcTemplate, "Mugs");
+        productId = createProduct(jdbcTemplate, categoryId, "Mug", "9.99", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void findOrCreate_ShouldReuseCustomerForRepeatOrders() {
+        // Act
+        checkoutService.placeOrder(purchase("repeat@example.com", item(productId, 1)));
+        checkoutService.placeOrder(purchase("Repeat@Example.com", item(productId, 1)));
+        checkoutService.placeOrder(purchase(" repeat@example.com ", item(productId, 1)));
+
+        // Assert
+        assertEquals(1, customersWithEmail("repeat@example.com"));
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @Test
+    void findOrCreate_ShouldCreateOneCustomerForConcurrentFirstOrders() throws Exception {
+        // Arrange
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() ->
+                    checkoutService.placeOrder(purchase("first@example.com", item(productId, 1)))));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        callers.shutdown();
+
+        // Assert
+        assertEquals(1, customersWithEmail("first@example.com"));
+        assertEquals(8, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @Test
+    void findOrCreate_ShouldReportLosingConcurrentInsertAsConcurrencyFailure() throws Exception {
+        // Arrange
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = callers.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            customerService.findOrCreate(purchase("race@example.com", item(productId, 1)).getCustomer());
+            inserted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        inserted.await();
+
+        // Act
+        Future<?> second = callers.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                customerService.findOrCreate(purchase("race@example.com", item(productId, 1)).getCustomer())));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(30, TimeUnit.SECONDS));
+        release.countDown();
+        first.get();
+        callers.shutdown();
+
+        // Assert
+        assertInstanceOf(ConcurrencyFailureException.class, failure.getCause());
+        assertEquals(1, customersWithEmail("race@example.com"));
+    }
+
+    @Test
+    void findOrCreate_ShouldNotRememberCustomerOfFailedOrder() {
+        // Arrange
+        assertThrows(InsufficientStockException.class,
+                () -> checkoutService.placeOrder(purchase("failed@example.com", item(productId, 1_000))));
+
+        // Act
+        checkoutService.placeOrder(purchase("failed@example.com", item(productId, 1)));
+
+        // Assert
+        assertEquals(1, customersWithEmail("failed@example.com"));
+    }
+
+    private int customersWithEmail(String email) {
+        return jdbcTemplate.queryForObject("select count(*) from customer where email = ?", Integer.class, email);
+    }
+}
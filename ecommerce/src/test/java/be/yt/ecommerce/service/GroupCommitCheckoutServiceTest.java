@@ -0,0 +1,162 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.GroupCommitProperties;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "ecommerce.checkout.group-commit.enabled=true",
+        "ecommerce.checkout.group-commit.writer-threads=1",
+        "ecommerce.checkout.group-commit.max-batch-size=16",
+        "ecommerce.checkout.group-commit.max-linger=200ms"
+})
+class GroupCommitCheckoutServiceTest {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Long categoryId = createCategory(jdbcTemplate, "Mugs");
+        productId = createProduct(jdbcTemplate, categoryId, "Mug", "18.99", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void placeOrder_ShouldUseGroupCommitService() {
+        assertInstanceOf(GroupCommitCheckoutService.class, checkoutService);
+    }
+
+    @Test
+    void placeOrder_ShouldCommitConcurrentPurchasesTogether() throws Exception {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<Future<PurchaseResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Purchase purchase = createPurchase("Customer " + i);
+            responses.add(callers.submit(() -> checkoutService.placeOrder(purchase)));
+        }
+        for (Future<PurchaseResponse> response : responses) {
+            assertNotNull(response.get().orderTrackingNumber());
+        }
+
+        // Assert
+        assertEquals(8, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+        assertTrue(statistics.getSuccessfulTransactionCount() < 8,
+                "expected grouped commits but saw " + statistics.getSuccessfulTransactionCount());
+    }
+
+    @Test
+    void placeOrder_ShouldIsolateFailingPurchaseFromItsBatch() throws Exception {
+        // Arrange
+        List<Future<PurchaseResponse>> good = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Purchase purchase = createPurchase("Customer " + i);
+            good.add(callers.submit(() -> checkoutService.placeOrder(purchase)));
+        }
+        Purchase tooLong = createPurchase("x".repeat(300));
+        Future<PurchaseResponse> bad = callers.submit(() -> checkoutService.placeOrder(tooLong));
+        for (int i = 3; i < 6; i++) {
+            Purchase purchase = createPurchase("Customer " + i);
+            good.add(callers.submit(() -> checkoutService.placeOrder(purchase)));
+        }
+
+        // Assert
+        for (Future<PurchaseResponse> response : good) {
+            assertNotNull(response.get().orderTrackingNumber());
+        }
+        assertThrows(ExecutionException.class, bad::get);
+        assertEquals(6, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+        assertEquals(6, jdbcTemplate.queryForObject("select count(*) from customer", Integer.class));
+        assertEquals(94, jdbcTemplate.queryForObject("select sum(units) from inventory_shard", Integer.class));
+    }
+
+    @Test
+    void placeOrder_ShouldWithdrawPurchase_WhenNoWriterTakesItInTime() throws Exception {
+        // Arrange
+        GroupCommitCheckoutService service = withoutWriters(Duration.ofMillis(100));
+        service.start();
+
+        // Act & Assert
+        assertThrows(CheckoutRejectedException.class, () -> service.placeOrder(createPurchase("Customer")));
+        service.stop();
+    }
+
+    @Test
+    void stop_ShouldRejectPurchasesLeftInQueue() throws Exception {
+        // Arrange
+        GroupCommitCheckoutService service = withoutWriters(Duration.ofMinutes(1));
+        service.start();
+        Purchase purchase = createPurchase("Customer");
+        Future<PurchaseResponse> response = callers.submit(() -> service.placeOrder(purchase));
+
+        // Act
+        service.stop();
+
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CheckoutRejectedException.class, e.getCause());
+    }
+
+    private static GroupCommitCheckoutService withoutWriters(Duration responseTimeout) {
+        GroupCommitProperties properties = new GroupCommitProperties(true, 0, 16, Duration.ofMillis(5), 16,
+                Duration.ofMillis(100), responseTimeout);
+        return new GroupCommitCheckoutService(mock(CheckoutBatchWriter.class), properties);
+    }
+
+    private Purchase createPurchase(String firstName) {
+        Purchase purchase = purchase(item(productId, 1));
+        purchase.getCustomer().setFirstName(firstName);
+        return purchase;
+    }
+}
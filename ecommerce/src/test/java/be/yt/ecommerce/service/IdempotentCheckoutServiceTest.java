@@ -0,0 +1,294 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.IdempotencyProperties;
+import be.yt.ecommerce.dao.IdempotencyRecordRepository;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.dto.PurchaseResponse;
+import be.yt.ecommerce.entity.Customer;
+import be.yt.ecommerce.entity.IdempotencyRecord;
+import be.yt.ecommerce.entity.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentCheckoutServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private CheckoutService checkoutService;
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotentCheckoutService idempotentCheckoutService;
+
+    @BeforeEach
+    void setUp() {
+        idempotentCheckoutService = createService();
+    }
+
+    @Test
+    void placeOrder_ShouldPlaceOrderOnce_WhenKeyIsRepeated() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-1"));
+
+        // Act
+        PurchaseResponse first = idempotentCheckoutService.placeOrder("key-1", purchase);
+        PurchaseResponse second = idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Assert
+        assertEquals("tracking-1", first.orderTrackingNumber());
+        assertEquals(first, second);
+        verify(checkoutService, times(1)).placeOrder(purchase);
+    }
+
+    @Test
+    void placeOrder_ShouldClaimKeyBeforePlacingOrder() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-1"));
+
+        // Act
+        idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Assert
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).saveAndFlush(claim.capture());
+        assertEquals("key-1", claim.getValue().getKey());
+        assertEquals(NOW.plus(Duration.ofHours(24)), claim.getValue().getExpiresAt());
+    }
+
+    @Test
+    void placeOrder_ShouldMakeConcurrentRetriesWaitForFirstAttempt() throws Exception {
+        // Arrange
+        Purchase purchase = new Purchase();
+        CountDownLatch checkoutStarted = new CountDownLatch(1);
+        CountDownLatch releaseCheckout = new CountDownLatch(1);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenAnswer(invocation -> {
+            checkoutStarted.countDown();
+            releaseCheckout.await();
+            return new PurchaseResponse("tracking-1");
+        });
+
+        // Act
+        CompletableFuture<PurchaseResponse> first = CompletableFuture.supplyAsync(() -> idempotentCheckoutService.placeOrder("key-1", purchase));
+        assertTrue(checkoutStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<PurchaseResponse> retry = CompletableFuture.supplyAsync(() -> idempotentCheckoutService.placeOrder("key-1", purchase));
+        Thread.sleep(100);
+        assertFalse(retry.isDone());
+        releaseCheckout.countDown();
+
+        // Assert
+        assertEquals("tracking-1", first.get(5, TimeUnit.SECONDS).orderTrackingNumber());
+        assertEquals("tracking-1", retry.get(5, TimeUnit.SECONDS).orderTrackingNumber());
+        verify(checkoutService, times(1)).placeOrder(purchase);
+    }
+
+    @Test
+    void placeOrder_ShouldReplayStoredResponse_WhenKeyWasCompletedElsewhere() {
+        // Arrange
+        IdempotencyRecord record = new IdempotencyRecord("key-1", NOW.minusSeconds(60), NOW.plusSeconds(60));
+        record.setOrderTrackingNumber("tracking-1");
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        // Act
+        PurchaseResponse response = idempotentCheckoutService.placeOrder("key-1", new Purchase());
+
+        // Assert
+        assertEquals("tracking-1", response.orderTrackingNumber());
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void placeOrder_ShouldRejectKeyInProgressElsewhere() {
+        // Arrange
+        IdempotencyRecord record = new IdempotencyRecord("key-1", NOW.minusSeconds(1), NOW.plusSeconds(60));
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty()).thenReturn(Optional.of(record));
+        when(recordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertThrows(IdempotencyConflictException.class,
+                () -> idempotentCheckoutService.placeOrder("key-1", new Purchase()));
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void placeOrder_ShouldPlaceNewOrder_WhenStoredKeyHasExpired() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        IdempotencyRecord expired = new IdempotencyRecord("key-1", NOW.minus(Duration.ofDays(2)), NOW.minusSeconds(1));
+        expired.setOrderTrackingNumber("tracking-old");
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(expired)).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-new"));
+
+        // Act
+        PurchaseResponse response = idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Assert
+        assertEquals("tracking-new", response.orderTrackingNumber());
+        verify(recordRepository).delete(expired);
+    }
+
+    @Test
+    void placeOrder_ShouldReleaseKey_WhenCheckoutFails() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(new PurchaseResponse("tracking-1"));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> idempotentCheckoutService.placeOrder("key-1", purchase));
+        PurchaseResponse retried = idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Assert
+        assertEquals("tracking-1", retried.orderTrackingNumber());
+        verify(recordRepository).deleteById("key-1");
+    }
+
+    @Test
+    void placeOrder_ShouldKeepClaim_WhenCheckoutTimesOut() {
+        // Arrange
+        Purchase purchase = new Purchase();
+        String fingerprint = IdempotentCheckoutService.fingerprint(purchase);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenThrow(new CheckoutTimeoutException("timed out"));
+
+        // Act
+        assertThrows(CheckoutTimeoutException.class, () -> idempotentCheckoutService.placeOrder("key-1", purchase));
+        // The claim saved by the first attempt, not yet completed
+        IdempotencyRecord claim = new IdempotencyRecord("key-1", NOW, NOW.plus(Duration.ofHours(24)));
+        claim.setRequestHash(fingerprint);
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(claim));
+
+        // Assert
+        assertThrows(IdempotencyConflictException.class, () -> idempotentCheckoutService.placeOrder("key-1", purchase));
+        verify(checkoutService, times(1)).placeOrder(purchase);
+        verify(recordRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void placeOrder_ShouldRejectKeyReusedWithDifferentPurchase() {
+        // Arrange
+        Purchase purchase = createPurchase("jane@example.com");
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-1"));
+        idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotentCheckoutService.placeOrder("key-1", createPurchase("john@example.com")));
+        verify(checkoutService, times(1)).placeOrder(any());
+    }
+
+    @Test
+    void placeOrder_ShouldRejectKeyCompletedElsewhereForDifferentPurchase() {
+        // Arrange
+        IdempotencyRecord record = new IdempotencyRecord("key-1", NOW.minusSeconds(60), NOW.plusSeconds(60));
+        record.setRequestHash(IdempotentCheckoutService.fingerprint(createPurchase("jane@example.com")));
+        record.setOrderTrackingNumber("tracking-1");
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotentCheckoutService.placeOrder("key-1", createPurchase("john@example.com")));
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void placeOrder_ShouldTakeOverStaleClaim() {
+        // Arrange
+        Purchase purchase = createPurchase("jane@example.com");
+        Instant claimedAt = NOW.minus(Duration.ofMinutes(5));
+        IdempotencyRecord stale = new IdempotencyRecord("key-1", claimedAt, NOW.plus(Duration.ofHours(23)));
+        stale.setRequestHash(IdempotentCheckoutService.fingerprint(purchase));
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(stale));
+        when(recordRepository.takeOver("key-1", claimedAt, NOW)).thenReturn(1);
+        when(checkoutService.placeOrder(purchase)).thenReturn(new PurchaseResponse("tracking-1"));
+
+        // Act
+        PurchaseResponse response = idempotentCheckoutService.placeOrder("key-1", purchase);
+
+        // Assert
+        assertEquals("tracking-1", response.orderTrackingNumber());
+        verify(recordRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void placeOrder_ShouldRejectClaimThatIsNotStaleYet() {
+        // Arrange
+        IdempotencyRecord claim = new IdempotencyRecord("key-1", NOW.minusSeconds(30), NOW.plus(Duration.ofHours(23)));
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(claim));
+
+        // Act & Assert
+        assertThrows(IdempotencyConflictException.class,
+                () -> idempotentCheckoutService.placeOrder("key-1", new Purchase()));
+        verify(recordRepository, never()).takeOver(any(), any(), any());
+        verifyNoInteractions(checkoutService);
+    }
+
+    @Test
+    void fingerprint_ShouldIgnoreOrderOfItems() {
+        // Arrange
+        OrderItem mug = createItem(1L);
+        OrderItem shirt = createItem(2L);
+        Purchase first = createPurchase("jane@example.com");
+        first.setOrderItems(new LinkedHashSet<>(List.of(mug, shirt)));
+        Purchase second = createPurchase("jane@example.com");
+        second.setOrderItems(new LinkedHashSet<>(List.of(shirt, mug)));
+
+        // Act & Assert
+        assertEquals(IdempotentCheckoutService.fingerprint(first), IdempotentCheckoutService.fingerprint(second));
+    }
+
+    private static Purchase createPurchase(String email) {
+        Customer customer = new Customer();
+        customer.setEmail(email);
+        Purchase purchase = new Purchase();
+        purchase.setCustomer(customer);
+        return purchase;
+    }
+
+    private static OrderItem createItem(Long productId) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        return item;
+    }
+
+    private IdempotentCheckoutService createService() {
+        return new IdempotentCheckoutService(checkoutService, recordRepository,
+                new IdempotencyProperties(Duration.ofHours(24), 100, Duration.ofMinutes(2)), transactionManager,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+}
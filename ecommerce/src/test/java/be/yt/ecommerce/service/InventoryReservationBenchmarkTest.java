@@ -0,0 +1,118 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.InventoryProperties;
+import be.yt.ecommerce.dao.InventoryShardRepository;
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.entity.OrderItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class InventoryReservationBenchmarkTest {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+    private static final long DURATION_MILLIS = Long.getLong("benchmark.durationMillis", 2_000);
+    // Time the rest of a checkout keeps the transaction, and so the shard's row lock, open
+    private static final long CHECKOUT_WORK_MILLIS = 2;
+
+    @Autowired
+    private InventoryShardRepository shardRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void reserve_ShardedCountersShouldScaleOnHotProduct() throws Exception {
+        // Arrange
+        jdbcTemplate.update("insert into product_category (category_name) values ('Benchmark')");
+        Long categoryId = jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+
+        // Act
+        System.out.printf("%-8s %16s %18s%n", "threads", "1 shard (ops/s)", "16 shards (ops/s)");
+        double single = 0;
+        double sharded = 0;
+        for (int threads : THREADS) {
+            single = measure(createProduct(categoryId), 1, threads);
+            sharded = measure(createProduct(categoryId), 16, threads);
+            System.out.printf("%-8d %16.0f %18.0f%n", threads, single, sharded);
+        }
+
+        // Assert
+        assertTrue(sharded > single * 2, "expected sharding to relieve the hot row");
+    }
+
+    private double measure(Long productId, int shards, int threads) throws Exception {
+        InventoryService inventoryService = new InventoryService(shardRepository, productRepository,
+                new InventoryProperties(true, shards));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        transactionTemplate.executeWithoutResult(status -> inventoryService.reserve(List.of(item)));
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(workers.submit(() -> {
+                int reservations = 0;
+                while (System.currentTimeMillis() < deadline) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        inventoryService.reserve(List.of(item));
+                        sleep(CHECKOUT_WORK_MILLIS);
+                    });
+                    reservations++;
+                }
+                return reservations;
+            }));
+        }
+        long total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        workers.shutdown();
+        return total * 1000.0 / DURATION_MILLIS;
+    }
+
+    private Long createProduct(Long categoryId) {
+        jdbcTemplate.update("insert into product (category_id, name, active, units_in_stock) values (?, 'Hot', true, ?)",
+                categoryId, Integer.MAX_VALUE / 2);
+        return jdbcTemplate.queryForObject("select max(id) from product", Long.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.InventoryEndpoint;
+import be.yt.ecommerce.entity.OrderItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "ecommerce.inventory.shards=8",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=5000"
+})
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private InventoryEndpoint inventoryEndpoint;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        categoryId = createCategory(jdbcTemplate, "Mugs");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void reserve_ShouldSplitStockOverShardsAndTakeUnits() {
+        // Arrange
+        Long productId = createMug(100);
+
+        // Act
+        reserve(productId, 3);
+
+        // Assert
+        assertEquals(8, jdbcTemplate.queryForObject(
+                "select count(*) from inventory_shard where product_id = ?", Integer.class, productId));
+        assertEquals(97, stock(productId));
+    }
+
+    @Test
+    void reserve_ShouldRebalanceWhenNoSingleShardHasEnough() {
+        // Arrange
+        Long productId = createMug(16);
+
+        // Act
+        reserve(productId, 10);
+
+        // Assert
+        assertEquals(6, stock(productId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select max(units) from inventory_shard where product_id = ?", Integer.class, productId));
+    }
+
+    @Test
+    void reserve_ShouldRejectWhenStockIsInsufficient() {
+        // Arrange
+        Long productId = createMug(5);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> reserve(productId, 6));
+        reserve(productId, 5);
+        assertEquals(0, stock(productId));
+    }
+
+    @Test
+    void reserve_ShouldRejectUnknownProduct() {
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () -> reserve(-1L, 1));
+    }
+
+    @Test
+    void reserve_ShouldNotOversellUnderConcurrentCheckouts() throws Exception {
+        // Arrange
+        Long productId = createMug(150);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            results.add(callers.submit(() -> {
+                int reserved = 0;
+                for (int i = 0; i < 25; i++) {
+                    try {
+                        checkoutService.placeOrder(purchase(item(productId, 1)));
+                        reserved++;
+                    } catch (InsufficientStockException e) {
+                        // sold out
+                    }
+                }
+                return reserved;
+            }));
+        }
+        int reserved = 0;
+        for (Future<Integer> result : results) {
+            reserved += result.get();
+        }
+        callers.shutdown();
+
+        // Assert
+        assertEquals(150, reserved);
+        assertEquals(0, stock(productId));
+        assertEquals(150, jdbcTemplate.queryForObject("select count(*) from orders", Integer.class));
+    }
+
+    @Test
+    void reserve_ShouldNotExhaustConnectionPoolOnConcurrentFirstOrders() throws Exception {
+        // Arrange
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            productIds.add(createMug(10));
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<?>> results = new ArrayList<>();
+        for (Long productId : productIds) {
+            results.add(callers.submit(() -> checkoutService.placeOrder(purchase(item(productId, 1)))));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        callers.shutdown();
+
+        // Assert
+        for (Long productId : productIds) {
+            assertEquals(9, stock(productId));
+        }
+    }
+
+    @Test
+    void copyStockToProducts_ShouldWriteShardTotalsToProduct() {
+        // Arrange
+        Long productId = createMug(20);
+        reserve(productId, 4);
+
+        // Act
+        inventoryService.copyStockToProducts();
+
+        // Assert
+        assertEquals(16, jdbcTemplate.queryForObject(
+                "select units_in_stock from product where id = ?", Integer.class, productId));
+    }
+
+    @Test
+    void copyStockToProducts_ShouldBumpLastUpdatedOfChangedProducts() {
+        // Arrange
+        Long changed = createMug(20);
+        Long unchanged = createMug(20);
+        reserve(changed, 4);
+        reserve(unchanged, 20);
+        inventoryService.restock(unchanged, 20);
+        jdbcTemplate.update("update product set last_updated = timestamp '2020-01-01 00:00:00'");
+
+        // Act
+        inventoryService.copyStockToProducts();
+
+        // Assert
+        assertTrue(lastUpdated(changed).after(Timestamp.valueOf("2020-01-01 00:00:00")));
+        assertEquals(Timestamp.valueOf("2020-01-01 00:00:00"), lastUpdated(unchanged));
+    }
+
+    @Test
+    void restock_ShouldSpreadUnitsOverExistingShards() {
+        // Arrange
+        Long productId = createMug(16);
+        reserve(productId, 6);
+
+        // Act
+        inventoryService.restock(productId, 13);
+
+        // Assert
+        assertEquals(23, stock(productId));
+        assertEquals(23, unitsInStock(productId));
+    }
+
+    @Test
+    void restock_ShouldAddToProductStock_WhenProductHasNoShards() {
+        // Arrange
+        Long productId = createMug(5);
+
+        // Act
+        inventoryService.restock(productId, 10);
+        reserve(productId, 15);
+
+        // Assert
+        assertEquals(0, stock(productId));
+    }
+
+    @Test
+    void restock_ShouldBeReachableOverJmxEndpoint() {
+        // Arrange
+        Long productId = createMug(16);
+        reserve(productId, 6);
+
+        // Act
+        inventoryEndpoint.restock(productId, 4);
+
+        // Assert
+        assertEquals(14, stock(productId));
+    }
+
+    @Test
+    void restock_ShouldRejectUnknownProduct() {
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.restock(-1L, 10));
+    }
+
+    private int unitsInStock(Long productId) {
+        return jdbcTemplate.queryForObject("select units_in_stock from product where id = ?", Integer.class, productId);
+    }
+
+    private Timestamp lastUpdated(Long productId) {
+        return jdbcTemplate.queryForObject("select last_updated from product where id = ?", Timestamp.class, productId);
+    }
+
+    private void reserve(Long productId, int quantity) {
+        List<OrderItem> items = List.of(item(productId, quantity));
+        transactionTemplate.executeWithoutResult(status -> inventoryService.reserve(items));
+    }
+
+    private int stock(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "select coalesce(sum(units), 0) from inventory_shard where product_id = ?", Integer.class, productId);
+    }
+
+    private Long createMug(int unitsInStock) {
+        return createProduct(jdbcTemplate, categoryId, "Mug", "9.99", unitsInStock);
+    }
+}
@@ -0,0 +1,69 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.OrderAccessProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderAccessTokensTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    private static final OrderAccessProperties PROPERTIES = new OrderAccessProperties("secret", Duration.ofDays(30));
+
+    private final OrderAccessTokens tokens = tokensAt(NOW);
+
+    @Test
+    void customerOfHistoryToken_ShouldReturnCustomerItWasIssuedFor() {
+        // Arrange
+        String token = tokens.historyToken(42);
+
+        // Act
+        Optional<Long> customerId = tokensAt(NOW.plus(Duration.ofDays(29))).customerOfHistoryToken(token);
+
+        // Assert
+        assertEquals(Optional.of(42L), customerId);
+    }
+
+    @Test
+    void customerOfHistoryToken_ShouldRejectExpiredToken() {
+        // Arrange
+        String token = tokens.historyToken(42);
+
+        // Act & Assert
+        assertTrue(tokensAt(NOW.plus(Duration.ofDays(30))).customerOfHistoryToken(token).isEmpty());
+    }
+
+    @Test
+    void customerOfHistoryToken_ShouldRejectAlteredToken() {
+        // Arrange
+        String[] parts = tokens.historyToken(42).split("\\.");
+
+        // Act & Assert
+        assertTrue(tokens.customerOfHistoryToken("43." + parts[1] + "." + parts[2]).isEmpty());
+        assertTrue(tokens.customerOfHistoryToken(parts[0] + "." + (Long.parseLong(parts[1]) + 86400) + "." + parts[2])
+                .isEmpty());
+        assertTrue(tokens.customerOfHistoryToken("42").isEmpty());
+        assertTrue(tokens.customerOfHistoryToken("x.y.z").isEmpty());
+        assertTrue(tokens.customerOfHistoryToken(null).isEmpty());
+    }
+
+    @Test
+    void customerOfHistoryToken_ShouldRejectTokenSignedWithAnotherSecret() {
+        // Arrange
+        OrderAccessTokens other = new OrderAccessTokens(new OrderAccessProperties("other", Duration.ofDays(30)),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertTrue(tokens.customerOfHistoryToken(other.historyToken(42)).isEmpty());
+    }
+
+    private static OrderAccessTokens tokensAt(Instant now) {
+        return new OrderAccessTokens(PROPERTIES, Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
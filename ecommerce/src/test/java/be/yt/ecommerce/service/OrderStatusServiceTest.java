@@ -0,0 +1,128 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.config.OrderStatusEndpoint;
+import be.yt.ecommerce.dto.OrderStatusView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static be.yt.ecommerce.TestPurchases.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "ecommerce.order.status-cache.ttl=1h"
+})
+class OrderStatusServiceTest {
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderStatusEndpoint orderStatusEndpoint;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long mugId;
+    private Long padId;
+
+    @BeforeEach
+    void setUp() {
+        Long categoryId = createCategory(jdbcTemplate, "Mugs");
+        mugId = createProduct(jdbcTemplate, categoryId, "Mug", "9.99", 100);
+        padId = createProduct(jdbcTemplate, categoryId, "Pad", "4.50", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_item");
+        jdbcTemplate.update("delete from orders");
+        jdbcTemplate.update("delete from address");
+        jdbcTemplate.update("delete from customer");
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void findByTrackingNumber_ShouldReturnOrderSummary() {
+        // Arrange
+        String trackingNumber = placeOrder();
+
+        // Act
+        OrderStatusView view = orderStatusService.findByTrackingNumber(trackingNumber);
+
+        // Assert
+        assertEquals(trackingNumber, view.orderTrackingNumber());
+        assertEquals(0, new BigDecimal("24.48").compareTo(view.totalPrice()));
+        assertEquals(3, view.totalQuantity());
+        assertEquals(2, view.itemCount());
+        assertNotNull(view.dateCreated());
+    }
+
+    @Test
+    void findByTrackingNumber_ShouldServeCachedViewUntilStatusIsUpdated() {
+        // Arrange
+        String trackingNumber = placeOrder();
+        orderStatusService.findByTrackingNumber(trackingNumber);
+        jdbcTemplate.update("update orders set status = 'CHANGED_BEHIND_CACHE' where order_tracking_number = ?",
+                trackingNumber);
+
+        // Act
+        OrderStatusView cached = orderStatusService.findByTrackingNumber(trackingNumber);
+        orderStatusService.updateStatus(trackingNumber, "SHIPPED");
+        OrderStatusView updated = orderStatusService.findByTrackingNumber(trackingNumber);
+
+        // Assert
+        assertNull(cached.status());
+        assertEquals("SHIPPED", updated.status());
+    }
+
+    @Test
+    void findByTrackingNumber_ShouldNotCacheUnknownTrackingNumbers() {
+        // Arrange
+        String trackingNumber = placeOrder();
+        String unknown = trackingNumber + "X";
+        assertThrows(OrderNotFoundException.class, () -> orderStatusService.findByTrackingNumber(unknown));
+        jdbcTemplate.update("update orders set order_tracking_number = ? where order_tracking_number = ?",
+                unknown, trackingNumber);
+
+        // Act
+        OrderStatusView view = orderStatusService.findByTrackingNumber(unknown);
+
+        // Assert
+        assertEquals(unknown, view.orderTrackingNumber());
+    }
+
+    @Test
+    void updateStatus_ShouldEvictCachedViewWhenCalledThroughEndpoint() {
+        // Arrange
+        String trackingNumber = placeOrder();
+        orderStatusService.findByTrackingNumber(trackingNumber);
+
+        // Act
+        orderStatusEndpoint.updateStatus(trackingNumber, "DELIVERED");
+
+        // Assert
+        assertEquals("DELIVERED", orderStatusService.findByTrackingNumber(trackingNumber).status());
+    }
+
+    @Test
+    void updateStatus_ShouldRejectUnknownTrackingNumber() {
+        // Act & Assert
+        assertThrows(OrderNotFoundException.class, () -> orderStatusService.updateStatus("UNKNOWN", "SHIPPED"));
+    }
+
+    private String placeOrder() {
+        return checkoutService.placeOrder(purchase(item(mugId, 2), item(padId, 1))).orderTrackingNumber();
+    }
+}
@@ -0,0 +1,134 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dao.ProductRepository;
+import be.yt.ecommerce.dto.ProductPrice;
+import be.yt.ecommerce.dto.Purchase;
+import be.yt.ecommerce.entity.Order;
+import be.yt.ecommerce.entity.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private PricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        pricingService = new PricingService(productRepository);
+    }
+
+    @Test
+    void price_ShouldReplaceClientPricesAndRecomputeTotals() {
+        // Arrange
+        Purchase purchase = createPurchase(item(1L, 2, "0.01"), item(2L, 3, "0.01"));
+        when(productRepository.findPrices(anyCollection())).thenReturn(List.of(
+                new ProductPrice(1L, new BigDecimal("19.99")),
+                new ProductPrice(2L, new BigDecimal("5.25"))));
+
+        // Act
+        pricingService.price(purchase);
+
+        // Assert
+        Order order = purchase.getOrder();
+        assertEquals(new BigDecimal("55.73"), order.getTotalPrice());
+        assertEquals(5, order.getTotalQuantity());
+        for (OrderItem item : purchase.getOrderItems()) {
+            assertNotEquals(new BigDecimal("0.01"), item.getUnitPrice());
+        }
+    }
+
+    @Test
+    void price_ShouldLoadAllPricesOfLargeCartInOneQuery() {
+        // Arrange
+        List<OrderItem> items = new ArrayList<>();
+        List<ProductPrice> prices = new ArrayList<>();
+        for (long productId = 1; productId <= 500; productId++) {
+            items.add(item(productId, 1, "1.00"));
+            prices.add(new ProductPrice(productId, new BigDecimal("1.00")));
+        }
+        when(productRepository.findPrices(anyCollection())).thenReturn(prices);
+
+        // Act
+        pricingService.price(createPurchase(items.toArray(OrderItem[]::new)));
+
+        // Assert
+        verify(productRepository, times(1)).findPrices(anyCollection());
+    }
+
+    @Test
+    void price_ShouldSplitQueriesForVeryLargeCarts() {
+        // Arrange
+        List<OrderItem> items = new ArrayList<>();
+        for (long productId = 1; productId <= PricingService.MAX_IDS_PER_QUERY + 1; productId++) {
+            items.add(item(productId, 1, "1.00"));
+        }
+        when(productRepository.findPrices(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new ProductPrice(id, BigDecimal.ONE)).toList();
+        });
+
+        // Act
+        pricingService.price(createPurchase(items.toArray(OrderItem[]::new)));
+
+        // Assert
+        verify(productRepository, times(2)).findPrices(anyCollection());
+    }
+
+    @Test
+    void price_ShouldRejectUnknownProduct() {
+        // Arrange
+        Purchase purchase = createPurchase(item(1L, 1, "1.00"), item(99L, 1, "1.00"));
+        when(productRepository.findPrices(anyCollection()))
+                .thenReturn(List.of(new ProductPrice(1L, BigDecimal.ONE)));
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> pricingService.price(purchase));
+    }
+
+    @Test
+    void price_ShouldRejectNonPositiveQuantity() {
+        // Arrange
+        Purchase purchase = createPurchase(item(1L, 0, "1.00"));
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> pricingService.price(purchase));
+        verifyNoInteractions(productRepository);
+    }
+
+    private Purchase createPurchase(OrderItem... items) {
+        Order order = new Order();
+        order.setTotalPrice(new BigDecimal("0.01"));
+        order.setTotalQuantity(1);
+
+        Purchase purchase = new Purchase();
+        purchase.setOrder(order);
+        purchase.setOrderItems(new HashSet<>(Set.of(items)));
+        return purchase;
+    }
+
+    private OrderItem item(Long productId, int quantity, String unitPrice) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        return item;
+    }
+}
@@ -0,0 +1,76 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.ProductImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductImportBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final int CATEGORIES = 50;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path directory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void importProducts_ShouldLoadLargeCatalog() throws Exception {
+        // Arrange
+        Path file = directory.resolve("products.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("sku,name,description,unitPrice,active,unitsInStock,categoryName\r\n");
+            for (int i = 0; i < PRODUCTS; i++) {
+                writer.write("IMPORT-" + i + ",Product " + i + ",\"Generated, for the import benchmark\","
+                        + (i % 100) + ".99,true,100,Category " + i % CATEGORIES + "\r\n");
+            }
+        }
+        System.out.printf("%-8s %12s %12s %14s%n", "pass", "rows", "ms", "rows/s");
+
+        // Act
+        ProductImportReport insert = importFile(file);
+        print("insert", insert);
+        ProductImportReport update = importFile(file);
+        print("update", update);
+
+        // Assert
+        assertEquals(PRODUCTS, insert.inserted());
+        assertEquals(PRODUCTS, update.updated());
+        assertEquals(CATEGORIES, insert.categoriesCreated());
+    }
+
+    private ProductImportReport importFile(Path file) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            return productImportService.importProducts(in, ProductFileFormat.CSV);
+        }
+    }
+
+    private static void print(String pass, ProductImportReport report) {
+        System.out.printf("%-8s %,12d %,12d %,14.0f%n", pass, report.rows(), report.elapsedMillis(),
+                report.rows() * 1000.0 / Math.max(report.elapsedMillis(), 1));
+    }
+}
@@ -0,0 +1,196 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.ProductImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "ecommerce.product-import.chunk-size=2",
+        "ecommerce.product-import.parallelism=4",
+        "ecommerce.product-import.progress-rows=3"
+})
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from inventory_shard");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void importProducts_ShouldInsertCsvRowsAndCreateMissingCategories() throws Exception {
+        // Arrange
+        jdbcTemplate.update("insert into product_category (category_name) values ('Mugs')");
+        Long mugs = jdbcTemplate.queryForObject("select id from product_category where category_name = 'Mugs'", Long.class);
+        String csv = """
+                sku,name,description,unitPrice,active,unitsInStock,categoryName\r
+                MUG-1,Coffee Mug,"Holds coffee, or tea",12.50,true,10,Mugs\r
+                MUG-2,Travel Mug,"Two
+                lines",19.99,true,5,Mugs\r
+                PAD-1,Mouse Pad,,4.50,false,,Pads\r
+                """;
+
+        // Act
+        ProductImportReport report = importProducts(csv, ProductFileFormat.CSV);
+
+        // Assert
+        assertEquals(3, report.rows());
+        assertEquals(3, report.inserted());
+        assertEquals(0, report.rejected());
+        assertEquals(1, report.categoriesCreated());
+        Map<String, Object> mug = findProduct("MUG-1");
+        assertEquals("Holds coffee, or tea", mug.get("DESCRIPTION"));
+        assertEquals(0, new BigDecimal("12.50").compareTo((BigDecimal) mug.get("UNIT_PRICE")));
+        assertEquals(mugs, mug.get("CATEGORY_ID"));
+        assertEquals("Two\nlines", findProduct("MUG-2").get("DESCRIPTION"));
+        Map<String, Object> pad = findProduct("PAD-1");
+        assertEquals(0, pad.get("UNITS_IN_STOCK"));
+        assertEquals(jdbcTemplate.queryForObject("select id from product_category where category_name = 'Pads'", Long.class),
+                pad.get("CATEGORY_ID"));
+    }
+
+    @Test
+    void importProducts_ShouldUpdateExistingProductsBySku() throws Exception {
+        // Arrange
+        importProducts("""
+                {"sku":"MUG-1","name":"Coffee Mug","unitPrice":12.50,"unitsInStock":10,"categoryName":"Mugs"}
+                """, ProductFileFormat.NDJSON);
+
+        // Act
+        ProductImportReport report = importProducts("""
+                {"sku":"MUG-1","unitPrice":11.00,"categoryName":"Mugs"}
+                {"sku":"MUG-2","name":"Travel Mug","categoryName":"Mugs"}
+                """, ProductFileFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, report.inserted());
+        assertEquals(1, report.updated());
+        Map<String, Object> mug = findProduct("MUG-1");
+        assertEquals("Coffee Mug", mug.get("NAME"));
+        assertEquals(10, mug.get("UNITS_IN_STOCK"));
+        assertEquals(0, new BigDecimal("11.00").compareTo((BigDecimal) mug.get("UNIT_PRICE")));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from product", Integer.class));
+    }
+
+    @Test
+    void importProducts_ShouldSpreadStockOverInventoryShards() throws Exception {
+        // Arrange
+        importProducts("""
+                {"sku":"MUG-1","name":"Coffee Mug","unitsInStock":10,"categoryName":"Mugs"}
+                """, ProductFileFormat.NDJSON);
+        Long id = (Long) findProduct("MUG-1").get("ID");
+        for (int shard = 0; shard < 3; shard++) {
+            jdbcTemplate.update("insert into inventory_shard (product_id, shard, units) values (?, ?, 4)", id, shard);
+        }
+
+        // Act
+        ProductImportReport report = importProducts("""
+                {"sku":"MUG-1","unitsInStock":8,"categoryName":"Mugs"}
+                """, ProductFileFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, report.updated());
+        assertEquals(List.of(3, 3, 2), jdbcTemplate.queryForList(
+                "select units from inventory_shard where product_id = ? order by shard", Integer.class, id));
+        assertEquals(8, findProduct("MUG-1").get("UNITS_IN_STOCK"));
+    }
+
+    @Test
+    void importProducts_ShouldRejectInvalidRowsAndImportTheRest() throws Exception {
+        // Act
+        ProductImportReport report = importProducts("""
+                {"sku":"MUG-1","name":"Coffee Mug","categoryName":"Mugs"}
+                {"name":"No sku","categoryName":"Mugs"}
+                {"sku":"MUG-2","unitPrice":"cheap","categoryName":"Mugs"}
+                {"sku":"MUG-3","categoryId":-1}
+
+                {"sku":"MUG-4","name":"Tea Mug","categoryName":"Mugs"}
+                """, ProductFileFormat.NDJSON);
+
+        // Assert
+        assertEquals(5, report.rows());
+        assertEquals(2, report.inserted());
+        assertEquals(3, report.rejected());
+        assertEquals(3, report.errors().size());
+        assertTrue(report.errors().contains("line 2: sku is required"));
+        assertTrue(report.errors().stream().anyMatch(error -> error.startsWith("line 3: invalid JSON")));
+        assertTrue(report.errors().contains("line 4: category -1 does not exist"));
+    }
+
+    @Test
+    void importProducts_ShouldWriteSkuRepeatedAcrossChunksOnce() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            ndjson.append("{\"sku\":\"MUG-").append(i % 4).append("\",\"unitsInStock\":").append(i)
+                    .append(",\"categoryName\":\"Mugs\"}\n");
+        }
+
+        // Act
+        ProductImportReport report = importProducts(ndjson.toString(), ProductFileFormat.NDJSON);
+
+        // Assert
+        assertEquals(40, report.rows());
+        assertEquals(0, report.rejected());
+        assertEquals(4, report.inserted());
+        assertEquals(4, jdbcTemplate.queryForObject("select count(*) from product", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from product_category", Integer.class));
+    }
+
+    @Test
+    void importProducts_ShouldReportProgress() throws Exception {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"sku\":\"MUG-").append(i).append("\",\"categoryName\":\"Mugs\"}\n");
+        }
+        List<ProductImportReport> progress = new ArrayList<>();
+
+        // Act
+        productImportService.importProducts(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                ProductFileFormat.NDJSON, report -> {
+                    synchronized (progress) {
+                        progress.add(report);
+                    }
+                });
+
+        // Assert
+        assertEquals(3, progress.size());
+    }
+
+    @Test
+    void importProducts_ShouldRejectCsvWithoutSkuColumn() {
+        // Act & Assert
+        assertThrows(InvalidProductFileException.class,
+                () -> importProducts("name,categoryName\r\nCoffee Mug,Mugs\r\n", ProductFileFormat.CSV));
+    }
+
+    private ProductImportReport importProducts(String content, ProductFileFormat format) throws Exception {
+        return productImportService.importProducts(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                format);
+    }
+
+    private Map<String, Object> findProduct(String sku) {
+        return jdbcTemplate.queryForMap("select * from product where sku = ?", sku);
+    }
+}
@@ -0,0 +1,105 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dao.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000_000);
+    private static final String[] ADJECTIVES = {"Classic", "Vintage", "Modern", "Rugged", "Compact", "Deluxe", "Eco", "Smart"};
+    private static final String[] NOUNS = {"Coffee Mug", "Mouse Pad", "Luggage Tag", "Notebook", "Backpack", "Water Bottle", "Desk Lamp", "Headphones"};
+    private static final String[] TERMS = {"mug", "vintage", "lamp", "head", "tag 42", "zzz"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from product_category");
+    }
+
+    @Test
+    void search_IndexShouldOutperformLikeQuery() {
+        // Arrange
+        generateCatalog();
+        long start = System.nanoTime();
+        productSearchService.refresh();
+        productSearchService.refresh();
+        System.out.printf("Indexed %,d products in %d ms%n", PRODUCTS, (System.nanoTime() - start) / 1_000_000);
+
+        // Act
+        Pageable pageable = PageRequest.of(0, 20);
+        double likeTotal = 0;
+        double indexTotal = 0;
+        System.out.printf("%-10s %14s %14s%n", "term", "LIKE (ms)", "index (ms)");
+        for (String term : TERMS) {
+            double like = averageMillis(5, () -> productRepository.findListingsByNameContaining(term, pageable));
+            double index = averageMillis(1_000, () -> productSearchService.search(term, pageable));
+            likeTotal += like;
+            indexTotal += index;
+            System.out.printf("%-10s %14.3f %14.3f%n", term, like, index);
+        }
+
+        // Assert
+        assertTrue(indexTotal < likeTotal);
+    }
+
+    private void generateCatalog() {
+        jdbcTemplate.update("insert into product_category (category_name) values ('Benchmark')");
+        Long categoryId = jdbcTemplate.queryForObject("select max(id) from product_category", Long.class);
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            batch.add(new Object[]{categoryId, "BENCH-" + i, name, "Generated " + name.toLowerCase(), now});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                insert into product (category_id, sku, name, description, unit_price, active, units_in_stock, date_created, last_updated)
+                values (?, ?, ?, ?, 9.99, true, 100, ?, ?)""", batch.stream()
+                .map(row -> new Object[]{row[0], row[1], row[2], row[3], row[4], row[4]})
+                .toList());
+        batch.clear();
+    }
+
+    private static double averageMillis(int iterations, Supplier<?> action) {
+        action.get();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+}
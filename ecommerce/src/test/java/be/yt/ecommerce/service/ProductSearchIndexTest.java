@@ -0,0 +1,134 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.dto.ProductSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.upsert(document(1L, "Smartphone", "High-end smartphone"));
+        index.upsert(document(2L, "Laptop", "Powerful laptop"));
+        index.upsert(document(3L, "Tablet", "Portable tablet"));
+        index.upsert(document(4L, "Java Programming", "Learn Java programming"));
+        index.upsert(document(5L, "Spring Boot Guide", "Guide to Spring Boot on a laptop"));
+    }
+
+    @Test
+    void search_ShouldFindPartialMatchesInName() {
+        // Act
+        ProductSearchIndex.SearchResult result = index.search("mart", 0, 10);
+
+        // Assert
+        assertEquals(1, result.total());
+        assertEquals(List.of(1L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldBeCaseInsensitive() {
+        // Act
+        ProductSearchIndex.SearchResult result = index.search("JAVA", 0, 10);
+
+        // Assert
+        assertEquals(List.of(4L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Act
+        ProductSearchIndex.SearchResult result = index.search("laptop", 0, 10);
+
+        // Assert
+        assertEquals(2, result.total());
+        assertEquals(List.of(2L, 5L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldHandleTermsShorterThanATrigram() {
+        // Act
+        ProductSearchIndex.SearchResult result = index.search("o", 0, 10);
+
+        // Assert
+        assertEquals(5, result.total());
+    }
+
+    @Test
+    void search_ShouldNotMatchWhenTrigramsAreNotContiguous() {
+        // Act
+        ProductSearchIndex.SearchResult result = index.search("boot spring", 0, 10);
+
+        // Assert
+        assertEquals(0, result.total());
+        assertTrue(result.productIds().isEmpty());
+    }
+
+    @Test
+    void search_ShouldPaginateRankedResults() {
+        // Act
+        ProductSearchIndex.SearchResult firstPage = index.search("a", 0, 2);
+        ProductSearchIndex.SearchResult secondPage = index.search("a", 1, 2);
+
+        // Assert
+        assertEquals(firstPage.total(), secondPage.total());
+        assertEquals(2, firstPage.productIds().size());
+        assertEquals(2, secondPage.productIds().size());
+        assertTrue(firstPage.productIds().stream().noneMatch(secondPage.productIds()::contains));
+    }
+
+    @Test
+    void upsert_ShouldReplacePreviousVersionOfProduct() {
+        // Act
+        boolean changed = index.upsert(document(2L, "Notebook", "Powerful notebook"));
+
+        // Assert
+        assertTrue(changed);
+        assertEquals(0, index.search("laptop", 0, 10).productIds().stream().filter(id -> id == 2L).count());
+        assertEquals(List.of(2L), index.search("notebook", 0, 10).productIds());
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void upsert_ShouldReportUnchangedDocuments() {
+        // Act
+        boolean changed = index.upsert(document(3L, "Tablet", "Portable tablet"));
+
+        // Assert
+        assertFalse(changed);
+    }
+
+    @Test
+    void upsert_ShouldKeepResultsCorrectAcrossCompaction() {
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert(document(2L, "Laptop " + i, "Powerful laptop"));
+        }
+
+        // Assert
+        assertEquals(5, index.size());
+        assertEquals(List.of(2L), index.search("laptop 4999", 0, 10).productIds());
+        assertEquals(List.of(1L), index.search("smartphone", 0, 10).productIds());
+    }
+
+    @Test
+    void remove_ShouldDropProductFromResults() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(0, index.search("smartphone", 0, 10).total());
+        assertEquals(4, index.size());
+    }
+
+    private ProductSearchDocument document(Long id, String name, String description) {
+        return new ProductSearchDocument(id, name, description, new Date());
+    }
+}
@@ -0,0 +1,40 @@
+package be.yt.ecommerce.service;
+
+import be.yt.ecommerce.entity.TimeOrderedIds;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedTrackingNumberGeneratorTest {
+
+    @Test
+    void encode_ShouldUseFixedWidthCrockfordBase32() {
+        // Act & Assert
+        assertEquals("0000000000000", TimeOrderedTrackingNumberGenerator.encode(0));
+        assertEquals("000000000000Z", TimeOrderedTrackingNumberGenerator.encode(31));
+        assertEquals("0000000000010", TimeOrderedTrackingNumberGenerator.encode(32));
+        assertEquals("7ZZZZZZZZZZZZ", TimeOrderedTrackingNumberGenerator.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    void next_ShouldSortInGenerationOrder() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+        TimeOrderedTrackingNumberGenerator generator =
+                new TimeOrderedTrackingNumberGenerator(new TimeOrderedIds(5, clock::get));
+
+        // Act & Assert
+        String previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                clock.addAndGet(1);
+            }
+            String next = generator.next();
+            assertEquals(TimeOrderedTrackingNumberGenerator.LENGTH, next.length());
+            assertTrue(next.compareTo(previous) > 0, next + " should sort after " + previous);
+            previous = next;
+        }
+    }
+}
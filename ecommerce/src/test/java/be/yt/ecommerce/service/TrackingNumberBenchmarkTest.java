@@ -0,0 +1,118 @@
+package be.yt.ecommerce.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class TrackingNumberBenchmarkTest {
+
+    private static final int[] THREADS = {1, 4, 16};
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("drop table if exists tracking_number_benchmark");
+    }
+
+    @Test
+    void next_TimeOrderedShouldNotBeSlowerThanRandomUuid() throws Exception {
+        // Act
+        System.out.printf("%-8s %14s %22s%n", "threads", "uuid (ops/us)", "time-ordered (ops/us)");
+        double uuid = 0;
+        double timeOrdered = 0;
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(TrackingNumberGenerationBenchmark.class.getName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(2)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(3)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            uuid = score(results, "randomUuid");
+            timeOrdered = score(results, "timeOrdered");
+            System.out.printf("%-8d %14.2f %22.2f%n", threads, uuid, timeOrdered);
+        }
+
+        // Assert
+        assertTrue(timeOrdered > uuid, "expected time-ordered numbers to be cheaper than random UUIDs");
+    }
+
+    @Test
+    void insert_TimeOrderedShouldAppendToIndex() {
+        // Act
+        System.out.printf("%-14s %12s %16s%n", "generator", "insert (ms)", "right-edge (%)");
+        Locality uuid = measureInserts(new RandomUuidTrackingNumberGenerator());
+        System.out.printf("%-14s %12d %16.1f%n", "uuid", uuid.millis(), uuid.rightEdgePercent());
+        Locality timeOrdered = measureInserts(new TimeOrderedTrackingNumberGenerator());
+        System.out.printf("%-14s %12d %16.1f%n", "time-ordered", timeOrdered.millis(), timeOrdered.rightEdgePercent());
+
+        // Assert
+        assertEquals(100.0, timeOrdered.rightEdgePercent());
+        assertTrue(uuid.rightEdgePercent() < 1.0);
+    }
+
+    private Locality measureInserts(OrderTrackingNumberGenerator generator) {
+        jdbcTemplate.execute("drop table if exists tracking_number_benchmark");
+        jdbcTemplate.execute("create table tracking_number_benchmark (tracking_number varchar(36) primary key)");
+
+        // Share of keys that sort after every key inserted before them, i.e. land on the last index page
+        String max = "";
+        int rightEdge = 0;
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String trackingNumber = generator.next();
+            if (trackingNumber.compareTo(max) > 0) {
+                max = trackingNumber;
+                rightEdge++;
+            }
+            batch.add(new Object[]{trackingNumber});
+            if (batch.size() == 10_000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Locality(millis, rightEdge * 100.0 / ROWS);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into tracking_number_benchmark (tracking_number) values (?)", batch);
+        batch.clear();
+    }
+
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+
+    private record Locality(long millis, double rightEdgePercent) {
+    }
+}
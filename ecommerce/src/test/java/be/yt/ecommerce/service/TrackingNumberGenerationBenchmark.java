@@ -0,0 +1,31 @@
+package be.yt.ecommerce.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation throughput of the tracking number strategies; run through {@link TrackingNumberBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrackingNumberGenerationBenchmark {
+    private final OrderTrackingNumberGenerator randomUuid = new RandomUuidTrackingNumberGenerator();
+    private final OrderTrackingNumberGenerator timeOrdered = new TimeOrderedTrackingNumberGenerator();
+
+    @Benchmark
+    public String randomUuid() {
+        return randomUuid.next();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.next();
+    }
+}